@@ -0,0 +1,20 @@
+package com.algaworks.algashop.product.catalog.application;
+
+public class InvalidFilterException extends RuntimeException {
+
+    public InvalidFilterException() {
+    }
+
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+
+    public InvalidFilterException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidFilterException(Throwable cause) {
+        super(cause);
+    }
+
+}
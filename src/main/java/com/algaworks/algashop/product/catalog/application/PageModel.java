@@ -20,6 +20,11 @@ public class PageModel<T> implements Serializable {
     private int totalPages;
     private long totalElements;
 
+    @Builder.Default
+    private boolean totalElementsExact = true;
+
+    private String nextCursor;
+
     @Builder.Default
     private List<T> content = new ArrayList<>();
 
@@ -0,0 +1,22 @@
+package com.algaworks.algashop.product.catalog.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResourceVersionOutput implements Serializable {
+
+    private UUID id;
+    private Long version;
+    private OffsetDateTime updatedAt;
+
+}
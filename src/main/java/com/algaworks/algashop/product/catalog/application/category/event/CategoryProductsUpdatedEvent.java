@@ -0,0 +1,18 @@
+package com.algaworks.algashop.product.catalog.application.category.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class CategoryProductsUpdatedEvent {
+
+    private UUID categoryId;
+    private List<UUID> productIds;
+
+}
@@ -1,5 +1,6 @@
 package com.algaworks.algashop.product.catalog.application.category.management;
 
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryCreatedEvent;
 import com.algaworks.algashop.product.catalog.application.category.event.CategoryUpdatedEvent;
 import com.algaworks.algashop.product.catalog.application.category.query.CategoryInput;
 import com.algaworks.algashop.product.catalog.application.ApplicationMessagePublisher;
@@ -7,9 +8,8 @@ import com.algaworks.algashop.product.catalog.domain.model.category.Category;
 import com.algaworks.algashop.product.catalog.domain.model.category.CategoryNotFoundException;
 import com.algaworks.algashop.product.catalog.domain.model.category.CategoryRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -20,19 +20,19 @@ public class CategoryManagementApplicationService {
     private final ApplicationMessagePublisher applicationMessagePublisher;
     private final CategoryRepository categoryRepository;
 
-    @CacheEvict(value = "algashop:categories-filter:v1", key = "'default'")
+    @Transactional
     public UUID create(CategoryInput input) {
         var category = Category.of(input.getName(), input.getEnabled());
         categoryRepository.save(category);
+
+        applicationMessagePublisher.send(CategoryCreatedEvent.builder()
+                .categoryId(category.getId())
+                .build());
+
         return category.getId();
     }
 
-    @Caching(
-            evict = {
-                    @CacheEvict(value = "algashop:categories-filter:v1", key = "'default'"),
-                    @CacheEvict(value = "algashop:categories:v1", key = "#categoryId")
-            }
-    )
+    @Transactional
     public void update(UUID categoryId, CategoryInput input) {
         var category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> CategoryNotFoundException.byID(categoryId));
@@ -47,6 +47,7 @@ public class CategoryManagementApplicationService {
                 .build());
     }
 
+    @Transactional
     public void disable(UUID categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> CategoryNotFoundException.byID(categoryId));
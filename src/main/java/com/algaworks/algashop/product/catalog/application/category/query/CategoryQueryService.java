@@ -1,14 +1,15 @@
 package com.algaworks.algashop.product.catalog.application.category.query;
 
 import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 
-import java.time.OffsetDateTime;
 import java.util.UUID;
 
 public interface CategoryQueryService {
 
     CategoryDetailOutput findById(UUID categoryId);
+    ResourceVersionOutput findVersion(UUID categoryId);
     PageModel<CategoryDetailOutput> filter(CategoryFilter filter);
-    OffsetDateTime lastModified();
+    ResourceVersionOutput findListVersion();
 
 }
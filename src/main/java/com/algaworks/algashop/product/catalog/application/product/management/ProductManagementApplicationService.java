@@ -12,8 +12,6 @@ import com.algaworks.algashop.product.catalog.domain.model.product.StockMovement
 import com.algaworks.algashop.product.catalog.domain.model.product.StockService;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,30 +27,24 @@ public class ProductManagementApplicationService {
     private final StockService stockService;
     private final Mapper mapper;
 
-    @CachePut(cacheNames = "algashop:products:v1", key = "#result.id", condition = "#input.enabled == true")
     public ProductDetailOutput create(ProductInput input) {
         var product = mapToProduct(input);
         productRepository.save(product);
         return mapper.convert(product, ProductDetailOutput.class);
     }
 
-    @CachePut(cacheNames = "algashop:products:v1", key = "#result.id",
-            condition = "#input.enabled == true")
-    @CacheEvict(cacheNames = "algashop:products:v1", key = "#productId",
-            condition = "#input.enabled == false")
     public ProductDetailOutput update(UUID productId, ProductInput input) {
         var product = findProduct(productId);
         var category = findCategory(input.getCategoryId());
 
         updateProduct(product, input);
-        product.setCategory(category);
+        product.changeCategory(category);
 
         productRepository.save(product);
 
         return mapper.convert(product, ProductDetailOutput.class);
     }
 
-    @CacheEvict(cacheNames = "algashop:products:v1", key = "#productId")
     public void disable(UUID productId) {
         var product = findProduct(productId);
         product.disable();
@@ -80,9 +72,7 @@ public class ProductManagementApplicationService {
     }
 
     private void updateProduct(Product product, ProductInput input) {
-        product.setName(input.getName());
-        product.setBrand(input.getBrand());
-        product.setDescription(input.getDescription());
+        product.changeDetails(input.getName(), input.getBrand(), input.getDescription());
         product.setEnabled(input.getEnabled());
         product.changePrice(input.getRegularPrice(), input.getSalePrice());
     }
@@ -0,0 +1,20 @@
+package com.algaworks.algashop.product.catalog.application.product.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCountOutput implements Serializable {
+
+    private String value;
+    private String label;
+    private long count;
+
+}
@@ -0,0 +1,21 @@
+package com.algaworks.algashop.product.catalog.application.product.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceRangeFacetOutput implements Serializable {
+
+    private BigDecimal from;
+    private BigDecimal to;
+    private long count;
+
+}
@@ -0,0 +1,90 @@
+package com.algaworks.algashop.product.catalog.application.product.query;
+
+import com.algaworks.algashop.product.catalog.application.InvalidFilterException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private final ProductFilter.SortType sortType;
+    private final Sort.Direction direction;
+    private final Object value;
+    private final UUID productId;
+
+    public static ProductCursor after(ProductSummaryOutput product, ProductFilter filter) {
+        Objects.requireNonNull(product);
+        Objects.requireNonNull(filter);
+        ProductFilter.SortType sortType = filter.getSortByPropertyOrDefault();
+        return new ProductCursor(sortType, filter.getSortDirectionOrDefault(),
+                sortValueOf(product, sortType), product.getId());
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new InvalidFilterException(INVALID_CURSOR);
+            }
+            ProductFilter.SortType sortType = ProductFilter.SortType.valueOf(parts[0]);
+            return new ProductCursor(sortType,
+                    Sort.Direction.valueOf(parts[1]),
+                    parse(sortType, parts[2]),
+                    UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidFilterException(INVALID_CURSOR, e);
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortType.name(), direction.name(), format(value), productId.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean matches(ProductFilter filter) {
+        return sortType == filter.getSortByPropertyOrDefault()
+                && direction == filter.getSortDirectionOrDefault();
+    }
+
+    private static Object sortValueOf(ProductSummaryOutput product, ProductFilter.SortType sortType) {
+        return switch (sortType) {
+            case ADDED_AT -> product.getAddedAt();
+            case SALE_PRICE -> product.getSalePrice();
+        };
+    }
+
+    private static String format(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant().toString();
+        }
+        if (value instanceof BigDecimal bigDecimal) {
+            return bigDecimal.toPlainString();
+        }
+        throw new IllegalStateException("Unsupported cursor value " + value);
+    }
+
+    private static Object parse(ProductFilter.SortType sortType, String value) {
+        return switch (sortType) {
+            case ADDED_AT -> OffsetDateTime.ofInstant(Instant.parse(value), ZoneOffset.UTC);
+            case SALE_PRICE -> new BigDecimal(value);
+        };
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.algaworks.algashop.product.catalog.application.product.query;
+
+import com.algaworks.algashop.product.catalog.application.PageModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFacetsOutput implements Serializable {
+
+    private PageModel<ProductSummaryOutput> page;
+
+    @Builder.Default
+    private List<FacetCountOutput> categories = new ArrayList<>();
+
+    @Builder.Default
+    private List<FacetCountOutput> brands = new ArrayList<>();
+
+    @Builder.Default
+    private List<PriceRangeFacetOutput> priceRanges = new ArrayList<>();
+
+    private long discounted;
+    private long inStock;
+
+}
@@ -0,0 +1,73 @@
+package com.algaworks.algashop.product.catalog.application.product.query;
+
+import com.algaworks.algashop.product.catalog.application.InvalidFilterException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductFieldSet implements Serializable {
+
+    public static final ProductFieldSet ALL = new ProductFieldSet(null);
+
+    public static final String ID = "id";
+
+    public static final Set<String> SUMMARY_FIELDS = Set.of(ID, "addedAt", "name", "slug", "brand",
+            "regularPrice", "salePrice", "inStock", "enabled", "category", "shortDescription", "hasDiscount",
+            "quantityInStock", "discountPercentageRounded", "score", "mainImage");
+
+    public static final Set<String> DETAIL_FIELDS = Set.of(ID, "addedAt", "name", "slug", "brand",
+            "regularPrice", "salePrice", "inStock", "enabled", "category", "description", "hasDiscount",
+            "quantityInStock", "discountPercentageRounded", "version", "updatedAt", "mainImage");
+
+    private final SortedSet<String> names;
+
+    public static ProductFieldSet of(String fields, Set<String> supportedFields) {
+        if (StringUtils.isBlank(fields)) {
+            return ALL;
+        }
+
+        SortedSet<String> names = new TreeSet<>();
+        names.add(ID);
+
+        for (String field : StringUtils.split(fields, ',')) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!supportedFields.contains(name)) {
+                throw new InvalidFilterException(String.format("Field '%s' is not supported", name));
+            }
+            names.add(name);
+        }
+
+        return new ProductFieldSet(Collections.unmodifiableSortedSet(names));
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String name) {
+        return isAll() || names.contains(name);
+    }
+
+    public Set<String> getNames() {
+        return isAll() ? Set.of() : names;
+    }
+
+    public String cacheKey() {
+        return isAll() ? "*" : String.join(",", names);
+    }
+
+}
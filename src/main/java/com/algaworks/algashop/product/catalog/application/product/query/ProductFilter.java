@@ -2,11 +2,19 @@ package com.algaworks.algashop.product.catalog.application.product.query;
 
 import com.algaworks.algashop.product.catalog.application.utility.SortablePageFilter;
 import lombok.*;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Sort;
+import org.springframework.util.DigestUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Data
 @AllArgsConstructor
@@ -30,6 +38,44 @@ public class ProductFilter extends SortablePageFilter<ProductFilter.SortType> {
     private OffsetDateTime addedAtFrom;
     private OffsetDateTime addedAtTo;
 
+    private String cursor;
+
+    private Boolean approximateTotals;
+
+    private String fields;
+
+    public boolean hasCursor() {
+        return StringUtils.isNotBlank(cursor);
+    }
+
+    public ProductFieldSet fieldSet() {
+        return ProductFieldSet.of(fields, ProductFieldSet.SUMMARY_FIELDS);
+    }
+
+    public String cacheKey() {
+        return DigestUtils.md5DigestAsHex(canonicalForm().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String canonicalForm() {
+        StringJoiner joiner = new StringJoiner("|");
+        joiner.add("term=" + (StringUtils.isBlank(term) ? "" : StringUtils.normalizeSpace(term).toLowerCase(Locale.ROOT)));
+        joiner.add("hasDiscount=" + hasDiscount);
+        joiner.add("enabled=" + enabled);
+        joiner.add("inStock=" + inStock);
+        joiner.add("priceFrom=" + canonical(priceFrom));
+        joiner.add("priceTo=" + canonical(priceTo));
+        joiner.add("categories=" + canonical(categoriesId));
+        joiner.add("addedAtFrom=" + canonical(addedAtFrom));
+        joiner.add("addedAtTo=" + canonical(addedAtTo));
+        joiner.add("sort=" + getSortByPropertyOrDefault() + ":" + getSortDirectionOrDefault());
+        joiner.add("page=" + getPage());
+        joiner.add("size=" + getSize());
+        joiner.add("cursor=" + (hasCursor() ? cursor : ""));
+        joiner.add("approximateTotals=" + Boolean.TRUE.equals(approximateTotals));
+        joiner.add("fields=" + fieldSet().cacheKey());
+        return joiner.toString();
+    }
+
     @Override
     public SortType getSortByPropertyOrDefault() {
         return getSortByProperty() == null ? SortType.ADDED_AT : getSortByProperty();
@@ -40,6 +86,26 @@ public class ProductFilter extends SortablePageFilter<ProductFilter.SortType> {
         return getSortDirection() == null ? Sort.Direction.ASC : getSortDirection();
     }
 
+    private static String canonical(BigDecimal value) {
+        return value == null ? "" : value.stripTrailingZeros().toPlainString();
+    }
+
+    private static String canonical(OffsetDateTime value) {
+        return value == null ? "" : value.toInstant().toString();
+    }
+
+    private static String canonical(UUID[] values) {
+        if (values == null) {
+            return "";
+        }
+        return Arrays.stream(values)
+                .filter(Objects::nonNull)
+                .map(UUID::toString)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
     @Getter
     @RequiredArgsConstructor
     public enum SortType {
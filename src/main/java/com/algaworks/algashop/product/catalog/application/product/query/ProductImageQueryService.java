@@ -1,10 +1,7 @@
 package com.algaworks.algashop.product.catalog.application.product.query;
 
-import com.algaworks.algashop.product.catalog.application.utility.Mapper;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 import com.algaworks.algashop.product.catalog.domain.model.DomainEntityNotFoundException;
-import com.algaworks.algashop.product.catalog.domain.model.product.ProductRepository;
-import com.algaworks.algashop.product.catalog.domain.model.product.Product;
-import com.algaworks.algashop.product.catalog.domain.model.product.ProductNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,14 +12,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ProductImageQueryService {
 
-    private final ProductRepository productRepository;
-    private final Mapper mapper;
+    private final ProductQueryService productQueryService;
+
+    public ResourceVersionOutput getVersion(UUID productId) {
+        return productQueryService.findVersion(productId);
+    }
 
     public List<ImageOutput> getAllImages(UUID productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
-        return product.getImages().stream()
-                .map(i -> mapper.convert(i, ImageOutput.class)).toList();
+        return productQueryService.findImages(productId);
     }
 
     public ImageOutput getImage(UUID productId, UUID imageId) {
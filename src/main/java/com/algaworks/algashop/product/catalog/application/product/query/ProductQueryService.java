@@ -1,12 +1,23 @@
 package com.algaworks.algashop.product.catalog.application.product.query;
 
 import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ProductQueryService {
 
     ProductDetailOutput findById(UUID productId);
+    ProductDetailOutput findById(UUID productId, ProductFieldSet fields);
+    ResourceVersionOutput findVersion(UUID productId);
+    List<ImageOutput> findImages(UUID productId);
+    List<ProductDetailOutput> findAllById(List<UUID> productIds);
     PageModel<ProductSummaryOutput> filter(ProductFilter filter);
+    ResourceVersionOutput findListVersion(ProductFilter filter);
+    ProductFacetsOutput facets(ProductFilter filter);
+    void export(ProductFilter filter, Consumer<ProductSummaryOutput> consumer);
+    List<ProductSuggestionOutput> suggest(String query, int limit);
 
 }
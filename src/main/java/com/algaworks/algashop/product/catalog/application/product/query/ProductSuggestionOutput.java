@@ -0,0 +1,20 @@
+package com.algaworks.algashop.product.catalog.application.product.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSuggestionOutput implements Serializable {
+
+    private UUID id;
+    private String name;
+
+}
@@ -7,6 +7,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.annotation.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.OffsetDateTime;
@@ -17,12 +20,15 @@ import java.util.UUID;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@CompoundIndex(name = "idx_category_by_enabled_name", def = "{'enabled': 1, 'name': 1}")
 public class Category {
 
     @Id
     @EqualsAndHashCode.Include
     private UUID id;
 
+    @TextIndexed
+    @Indexed(name = "idx_category_by_name")
     private String name;
 
     private Boolean enabled;
@@ -22,12 +22,20 @@ import java.util.*;
 @Getter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @NoArgsConstructor
-@CompoundIndex(name = "idx_product_by_category_enabled_salesPrice",
-        def = "{'category.id': 1, 'salesPrice': 1}",
+@CompoundIndex(name = "idx_product_by_category_salePrice",
+        def = "{'categoryId': 1, 'salePrice': 1}",
         partialFilter = "{'enabled': true}")
-@CompoundIndex(name = "idx_product_by_category_enabled_addedAt",
-        def = "{'category.id': 1, 'addedAt': 1}",
+@CompoundIndex(name = "idx_product_by_category_addedAt",
+        def = "{'categoryId': 1, 'addedAt': 1}",
         partialFilter = "{'enabled': true}")
+@CompoundIndex(name = "idx_product_discounted_by_enabled_category",
+        def = "{'enabled': 1, 'categoryId': 1, 'discountPercentageRounded': 1}",
+        partialFilter = "{'discountPercentageRounded': {'$gt': 0}}")
+@CompoundIndex(name = "idx_product_in_stock_by_enabled_category",
+        def = "{'enabled': 1, 'categoryId': 1, 'quantityInStock': 1}",
+        partialFilter = "{'quantityInStock': {'$gt': 0}}")
+@CompoundIndex(name = "idx_product_by_addedAt_id", def = "{'addedAt': 1, '_id': 1}")
+@CompoundIndex(name = "idx_product_by_salePrice_id", def = "{'salePrice': 1, '_id': 1}")
 public class Product extends AbstractAggregateRoot<Product> {
 
     @Id
@@ -126,6 +134,7 @@ public class Product extends AbstractAggregateRoot<Product> {
         if (this.mainImage == null) {
             this.setMainImage(image);
         }
+        registerImagesChangedEvent();
         return image.getId();
     }
 
@@ -133,6 +142,7 @@ public class Product extends AbstractAggregateRoot<Product> {
         Objects.requireNonNull(imageId);
         Image image = findImageById(imageId);
         setMainImage(image);
+        registerImagesChangedEvent();
     }
 
     public void removeImage(UUID imageId) {
@@ -142,6 +152,7 @@ public class Product extends AbstractAggregateRoot<Product> {
         if (image.equals(this.mainImage)) {
             this.setMainImage(this.images.stream().findFirst().orElse(null));
         }
+        registerImagesChangedEvent();
     }
 
     private Image findImageById(UUID imageId) {
@@ -150,6 +161,24 @@ public class Product extends AbstractAggregateRoot<Product> {
                         String.format("Image of id %s was not found on product %s", imageId, id)));
     }
 
+    public void changeDetails(String name, String brand, String description) {
+        boolean detailsDidNotChange = Objects.equals(this.name, name)
+                && Objects.equals(this.brand, brand)
+                && Objects.equals(this.description, description);
+
+        setName(name);
+        setBrand(brand);
+        setDescription(description);
+
+        if (detailsDidNotChange) {
+            return;
+        }
+
+        super.registerEvent(ProductDetailsChangedEvent.builder()
+                .productId(this.id)
+                .build());
+    }
+
     public void changePrice(BigDecimal regularPrice, BigDecimal salePrice) {
         Objects.requireNonNull(regularPrice);
         Objects.requireNonNull(salePrice);
@@ -225,6 +254,23 @@ public class Product extends AbstractAggregateRoot<Product> {
         this.category = ProductCategory.of(category);
     }
 
+    public void changeCategory(Category category) {
+        Objects.requireNonNull(category);
+        UUID oldCategoryId = this.categoryId;
+
+        setCategory(category);
+
+        if (Objects.equals(oldCategoryId, this.categoryId)) {
+            return;
+        }
+
+        super.registerEvent(ProductCategoryChangedEvent.builder()
+                .productId(this.id)
+                .oldCategoryId(oldCategoryId)
+                .newCategoryId(this.categoryId)
+                .build());
+    }
+
     public void disable() {
         this.setEnabled(false);
     }
@@ -313,4 +359,10 @@ public class Product extends AbstractAggregateRoot<Product> {
                 .build());
     }
 
+    private void registerImagesChangedEvent() {
+        super.registerEvent(ProductImagesChangedEvent.builder()
+                .productId(getId())
+                .build());
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.algaworks.algashop.product.catalog.domain.model.product;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@ToString
+@Builder
+public class ProductCategoryChangedEvent {
+
+    private UUID productId;
+    private UUID oldCategoryId;
+    private UUID newCategoryId;
+
+    @Builder.Default
+    private OffsetDateTime changedAt = OffsetDateTime.now();
+
+}
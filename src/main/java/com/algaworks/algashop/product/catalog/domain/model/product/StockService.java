@@ -33,6 +33,14 @@ public class StockService {
             );
         }
 
+        domainEventPublisher.publish(
+                ProductStockChangedEvent.builder()
+                        .productId(product.getId())
+                        .previousQuantity(result.previousQuantity())
+                        .newQuantity(result.newQuantity())
+                        .build()
+        );
+
         return StockMovement.builder()
                 .productId(product.getId())
                 .movementQuantity(quantity)
@@ -61,6 +69,14 @@ public class StockService {
             );
         }
 
+        domainEventPublisher.publish(
+                ProductStockChangedEvent.builder()
+                        .productId(product.getId())
+                        .previousQuantity(result.previousQuantity())
+                        .newQuantity(result.newQuantity())
+                        .build()
+        );
+
         return StockMovement.builder()
                 .productId(product.getId())
                 .movementQuantity(quantity)
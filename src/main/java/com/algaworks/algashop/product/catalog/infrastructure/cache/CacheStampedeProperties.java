@@ -0,0 +1,59 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties("algashop.cache.stampede")
+@Data
+@Validated
+public class CacheStampedeProperties {
+
+    private boolean enabled = true;
+
+    @NotNull
+    private String leaseKeyPrefix = "algashop:cache:lease:";
+
+    @Valid
+    @NotNull
+    private Map<String, Policy> caches = new HashMap<>(Map.of(
+            "algashop:products:v1", new Policy(),
+            "algashop:categories:v1", new Policy()
+    ));
+
+    @Data
+    public static class Policy {
+
+        @NotNull
+        private Duration leaseTtl = Duration.ofSeconds(5);
+
+        @NotNull
+        private Duration waitTimeout = Duration.ofSeconds(2);
+
+        @NotNull
+        private Duration pollInterval = Duration.ofMillis(25);
+
+        private boolean earlyRefresh = true;
+
+        @PositiveOrZero
+        private double beta = 1.0;
+
+        @Positive
+        private long trackedEntries = 10_000;
+
+        @NotNull
+        private Duration ttlRecheckInterval = Duration.ofSeconds(30);
+
+    }
+
+}
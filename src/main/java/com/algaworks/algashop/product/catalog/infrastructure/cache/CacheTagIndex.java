@@ -0,0 +1,180 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class CacheTagIndex {
+
+    private static final String CATEGORY_TAG_PREFIX = "category:";
+    private static final String PRODUCT_TAG_PREFIX = "product:";
+
+    private final RedisCacheManager redisCacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final CacheTagProperties properties;
+
+    public static String categoryTag(UUID categoryId) {
+        return CATEGORY_TAG_PREFIX + categoryId;
+    }
+
+    public static String productTag(UUID productId) {
+        return PRODUCT_TAG_PREFIX + productId;
+    }
+
+    public boolean isTagged(String cacheName) {
+        return properties.isEnabled() && properties.getCaches().contains(cacheName);
+    }
+
+    public Set<String> tagsOf(Object value) {
+        if (!(value instanceof ProductDetailOutput product)) {
+            return Set.of();
+        }
+
+        Set<String> tags = new HashSet<>();
+        if (product.getId() != null) {
+            tags.add(productTag(product.getId()));
+        }
+        if (product.getCategory() != null && product.getCategory().getId() != null) {
+            tags.add(categoryTag(product.getCategory().getId()));
+        }
+        return tags;
+    }
+
+    public void tag(String cacheName, Object key, Object value) {
+        Set<String> tags = tagsOf(value);
+        if (tags.isEmpty() || !isTagged(cacheName)) {
+            return;
+        }
+
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            tag(connection, cacheName, key, tags);
+            connection.closePipeline();
+        }
+    }
+
+    void tag(RedisConnection connection, String cacheName, Object key, Set<String> tags) {
+        byte[] member = bytes(redisKeyOf(cacheName, key));
+        long ttlSeconds = properties.getTagTtl().toSeconds();
+        for (String tag : tags) {
+            byte[] tagKey = bytes(properties.getKeyPrefix() + tag);
+            connection.setCommands().sAdd(tagKey, member);
+            connection.keyCommands().expire(tagKey, ttlSeconds);
+        }
+    }
+
+    public Map<String, List<String>> invalidate(String tag) {
+        acquire();
+
+        byte[] tagKey = bytes(properties.getKeyPrefix() + tag);
+        Map<String, String> prefixes = keyPrefixes();
+        Map<String, List<String>> evicted = new HashMap<>();
+        List<byte[]> batch = new ArrayList<>(properties.getBatchSize());
+
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            try (Cursor<byte[]> members = connection.setCommands().sScan(tagKey,
+                    ScanOptions.scanOptions().count(properties.getBatchSize()).build())) {
+                while (members.hasNext()) {
+                    byte[] member = members.next();
+                    batch.add(member);
+                    collect(evicted, prefixes, new String(member, StandardCharsets.UTF_8));
+                    if (batch.size() >= properties.getBatchSize()) {
+                        unlink(connection, batch);
+                    }
+                }
+            }
+            batch.add(tagKey);
+            unlink(connection, batch);
+            redisCircuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            redisCircuitBreaker.onFailure(e);
+            throw e;
+        }
+        return evicted;
+    }
+
+    public List<String> delete(String cacheName, Collection<?> keys) {
+        acquire();
+
+        List<String> deleted = new ArrayList<>();
+        List<byte[]> batch = new ArrayList<>(properties.getBatchSize());
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            for (Object key : keys) {
+                batch.add(bytes(redisKeyOf(cacheName, key)));
+                deleted.add(TwoLevelCache.localKey(key));
+                if (batch.size() >= properties.getBatchSize()) {
+                    unlink(connection, batch);
+                }
+            }
+            unlink(connection, batch);
+            redisCircuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            redisCircuitBreaker.onFailure(e);
+            throw e;
+        }
+        return deleted;
+    }
+
+    private void acquire() {
+        if (!redisCircuitBreaker.tryAcquire(properties.getKeyPrefix())) {
+            throw new IllegalStateException("Redis circuit breaker is open");
+        }
+    }
+
+    private void unlink(RedisConnection connection, List<byte[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        connection.openPipeline();
+        batch.forEach(key -> connection.keyCommands().unlink(key));
+        connection.closePipeline();
+        batch.clear();
+    }
+
+    private void collect(Map<String, List<String>> evicted, Map<String, String> prefixes, String redisKey) {
+        prefixes.forEach((cacheName, prefix) -> {
+            if (redisKey.startsWith(prefix)) {
+                evicted.computeIfAbsent(cacheName, name -> new ArrayList<>())
+                        .add(redisKey.substring(prefix.length()));
+            }
+        });
+    }
+
+    private Map<String, String> keyPrefixes() {
+        Map<String, String> prefixes = new HashMap<>();
+        properties.getCaches().forEach(cacheName ->
+                prefixes.put(cacheName, configurationOf(cacheName).getKeyPrefixFor(cacheName)));
+        return prefixes;
+    }
+
+    private String redisKeyOf(String cacheName, Object key) {
+        RedisCacheConfiguration configuration = configurationOf(cacheName);
+        return configuration.getKeyPrefixFor(cacheName)
+                + Objects.requireNonNull(configuration.getConversionService().convert(key, String.class));
+    }
+
+    private RedisCacheConfiguration configurationOf(String cacheName) {
+        RedisCache cache = (RedisCache) Objects.requireNonNull(redisCacheManager.getCache(cacheName));
+        return cache.getCacheConfiguration();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Component
+@ConfigurationProperties("algashop.cache.tags")
+@Data
+@Validated
+public class CacheTagProperties {
+
+    private boolean enabled = true;
+
+    @NotBlank
+    private String keyPrefix = "algashop:cache:tag:";
+
+    @NotNull
+    private Duration tagTtl = Duration.ofHours(6);
+
+    @Positive
+    private int batchSize = 500;
+
+    @NotNull
+    private Set<String> caches = Set.of("algashop:products:v1", "algashop:products-fields:v1");
+
+}
@@ -0,0 +1,45 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class CacheValueSerializers {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final Map<String, RedisSerializer<Object>> nearCacheSerializers = new ConcurrentHashMap<>();
+
+    public CacheValueSerializers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    public SerializationPair<Object> pairFor(String cacheName, Class<?> valueType, Class<?>... typeParameters) {
+        JavaType javaType = typeParameters.length == 0
+                ? objectMapper.constructType(valueType)
+                : objectMapper.getTypeFactory().constructParametricType(valueType, typeParameters);
+        VersionedCacheValueSerializer serializer = new VersionedCacheValueSerializer(objectMapper, javaType);
+        nearCacheSerializers.put(cacheName, serializer);
+        return SerializationPair.fromSerializer(new MeteredCacheValueSerializer(serializer, cacheName, meterRegistry));
+    }
+
+    @Nullable RedisSerializer<Object> nearCacheSerializerFor(String cacheName) {
+        return nearCacheSerializers.get(cacheName);
+    }
+
+}
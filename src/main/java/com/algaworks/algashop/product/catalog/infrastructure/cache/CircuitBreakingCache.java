@@ -0,0 +1,184 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+class CircuitBreakingCache implements Cache {
+
+    private final Cache delegate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    CircuitBreakingCache(Cache delegate, RedisCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = delegate.get(key);
+            circuitBreaker.onSuccess();
+            return wrapper;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            return null;
+        }
+        try {
+            T value = delegate.get(key, type);
+            circuitBreaker.onSuccess();
+            return value;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            return load(key, valueLoader);
+        }
+
+        AtomicBoolean loaderFailed = new AtomicBoolean();
+        try {
+            T value = delegate.get(key, () -> {
+                try {
+                    return valueLoader.call();
+                } catch (Exception e) {
+                    loaderFailed.set(true);
+                    throw e;
+                }
+            });
+            circuitBreaker.onSuccess();
+            return value;
+        } catch (RuntimeException e) {
+            if (!loaderFailed.get()) {
+                circuitBreaker.onFailure(e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public @Nullable CompletableFuture<?> retrieve(Object key) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            return null;
+        }
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            return valueLoader.get();
+        }
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            return;
+        }
+        try {
+            delegate.put(key, value);
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public @Nullable ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            return null;
+        }
+        try {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            circuitBreaker.onSuccess();
+            return existing;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            circuitBreaker.deferEviction(delegate, key);
+            return false;
+        }
+        try {
+            boolean evicted = delegate.evictIfPresent(key);
+            circuitBreaker.onSuccess();
+            return evicted;
+        } catch (RuntimeException e) {
+            circuitBreaker.deferEviction(delegate, key);
+            circuitBreaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (!circuitBreaker.tryAcquire(getName())) {
+            circuitBreaker.deferClear(delegate);
+            return false;
+        }
+        try {
+            boolean invalidated = delegate.invalidate();
+            circuitBreaker.onSuccess();
+            return invalidated;
+        } catch (RuntimeException e) {
+            circuitBreaker.deferClear(delegate);
+            circuitBreaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+}
@@ -14,14 +14,26 @@ import org.springframework.stereotype.Component;
 public class CustomRedisCacheHealthIndicator implements HealthIndicator {
 
     private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisCircuitBreaker redisCircuitBreaker;
 
     @Override
     public @Nullable Health health() {
+        RedisCircuitBreaker.State circuitState = redisCircuitBreaker.getState();
+        if (circuitState == RedisCircuitBreaker.State.OPEN) {
+            return Health.status("DEGRADED")
+                    .withDetail("circuitBreaker", circuitState)
+                    .withDetail("error", "Redis is bypassed until the circuit breaker closes")
+                    .build();
+        }
+
         try {
             redisConnectionFactory.getConnection().ping();
-            return Health.up().build();
+            return Health.up()
+                    .withDetail("circuitBreaker", circuitState)
+                    .build();
         } catch (Exception e) {
             return Health.status("DEGRADED")
+                    .withDetail("circuitBreaker", circuitState)
                     .withDetail("error", e.getMessage())
                     .withException(e)
                     .build();
@@ -0,0 +1,181 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+class InstrumentedCache implements Cache {
+
+    static final String OPERATIONS_METRIC = "algashop.cache.operations";
+
+    static final String GET = "get";
+    static final String PUT = "put";
+    static final String EVICT = "evict";
+    static final String CLEAR = "clear";
+
+    static final String HIT = "hit";
+    static final String MISS = "miss";
+    static final String SUCCESS = "success";
+    static final String ERROR = "error";
+
+    private final Cache delegate;
+    private final MeterRegistry meterRegistry;
+
+    InstrumentedCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        long start = System.nanoTime();
+        try {
+            ValueWrapper wrapper = delegate.get(key);
+            record(GET, wrapper == null ? MISS : HIT, start);
+            return wrapper;
+        } catch (RuntimeException e) {
+            record(GET, ERROR, start);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        long start = System.nanoTime();
+        try {
+            T value = delegate.get(key, type);
+            record(GET, value == null ? MISS : HIT, start);
+            return value;
+        } catch (RuntimeException e) {
+            record(GET, ERROR, start);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        AtomicLong loadNanos = new AtomicLong(-1);
+        long start = System.nanoTime();
+        try {
+            T value = delegate.get(key, () -> {
+                long loadStart = System.nanoTime();
+                try {
+                    return valueLoader.call();
+                } finally {
+                    loadNanos.set(System.nanoTime() - loadStart);
+                }
+            });
+            record(GET, loadNanos.get() < 0 ? HIT : MISS, start, Math.max(0, loadNanos.get()));
+            return value;
+        } catch (RuntimeException e) {
+            record(GET, ERROR, start, Math.max(0, loadNanos.get()));
+            throw e;
+        }
+    }
+
+    @Override
+    public @Nullable CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        timed(PUT, () -> delegate.put(key, value));
+    }
+
+    @Override
+    public @Nullable ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        long start = System.nanoTime();
+        try {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            record(PUT, existing == null ? SUCCESS : HIT, start);
+            return existing;
+        } catch (RuntimeException e) {
+            record(PUT, ERROR, start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        timed(EVICT, () -> delegate.evict(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        long start = System.nanoTime();
+        try {
+            boolean evicted = delegate.evictIfPresent(key);
+            record(EVICT, evicted ? SUCCESS : MISS, start);
+            return evicted;
+        } catch (RuntimeException e) {
+            record(EVICT, ERROR, start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clear() {
+        timed(CLEAR, delegate::clear);
+    }
+
+    @Override
+    public boolean invalidate() {
+        long start = System.nanoTime();
+        try {
+            boolean invalidated = delegate.invalidate();
+            record(CLEAR, SUCCESS, start);
+            return invalidated;
+        } catch (RuntimeException e) {
+            record(CLEAR, ERROR, start);
+            throw e;
+        }
+    }
+
+    private void timed(String operation, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+            record(operation, SUCCESS, start);
+        } catch (RuntimeException e) {
+            record(operation, ERROR, start);
+            throw e;
+        }
+    }
+
+    private void record(String operation, String result, long start) {
+        record(operation, result, start, 0);
+    }
+
+    private void record(String operation, String result, long start, long excludedNanos) {
+        Timer.builder(OPERATIONS_METRIC)
+                .tag("cache", getName())
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start - excludedNanos, TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class MeteredCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final String PAYLOAD_SIZE_METRIC = "algashop.cache.payload.size";
+
+    private final RedisSerializer<Object> delegate;
+    private final DistributionSummary writes;
+    private final DistributionSummary reads;
+
+    MeteredCacheValueSerializer(RedisSerializer<Object> delegate, String cacheName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.writes = payloadSize(meterRegistry, cacheName, "write");
+        this.reads = payloadSize(meterRegistry, cacheName, "read");
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            writes.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public @Nullable Object deserialize(byte @Nullable [] bytes) throws SerializationException {
+        if (bytes != null) {
+            reads.record(bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+
+    private DistributionSummary payloadSize(MeterRegistry meterRegistry, String cacheName, String operation) {
+        return DistributionSummary.builder(PAYLOAD_SIZE_METRIC)
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Component
+@ConfigurationProperties("algashop.cache.near")
+@Data
+@Validated
+public class NearCacheProperties {
+
+    private boolean enabled = true;
+
+    @Positive
+    private long maximumSize = 10_000;
+
+    @NotNull
+    private Duration expireAfterWrite = Duration.ofSeconds(30);
+
+    @NotBlank
+    private String invalidationChannel = "algashop:cache:invalidation";
+
+    @NotNull
+    private Set<String> caches = Set.of("algashop:products:v1", "algashop:categories:v1",
+            "algashop:products-version:v1", "algashop:categories-version:v1");
+
+}
@@ -0,0 +1,114 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class ProductDetailBatchCache {
+
+    public static final String CACHE_NAME = "algashop:products:v1";
+
+    private final RedisCacheManager redisCacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final CacheTagIndex cacheTagIndex;
+
+    public Map<UUID, ProductDetailOutput> getAll(List<UUID> productIds) {
+        if (productIds.isEmpty() || !redisCircuitBreaker.tryAcquire(CACHE_NAME)) {
+            return Map.of();
+        }
+
+        RedisCacheConfiguration configuration = configuration();
+        byte[][] keys = productIds.stream()
+                .map(productId -> keyOf(configuration, productId))
+                .toArray(byte[][]::new);
+
+        List<byte[]> values;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(keys);
+            redisCircuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            redisCircuitBreaker.onFailure(e);
+            log.warn("Cache MGET error | cache='{}' | keys='{}' | cause='{}'",
+                    CACHE_NAME, productIds.size(), e.getClass().getSimpleName());
+            return Map.of();
+        }
+
+        Map<UUID, ProductDetailOutput> found = new HashMap<>();
+        for (int i = 0; values != null && i < values.size(); i++) {
+            byte[] value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            try {
+                Object cached = configuration.getValueSerializationPair().read(ByteBuffer.wrap(value));
+                if (cached instanceof ProductDetailOutput product) {
+                    found.put(productIds.get(i), product);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Cache MGET decode error | cache='{}' | key='{}' | cause='{}'",
+                        CACHE_NAME, productIds.get(i), e.getClass().getSimpleName());
+            }
+        }
+        return found;
+    }
+
+    public void putAll(Collection<ProductDetailOutput> products) {
+        if (products.isEmpty() || !redisCircuitBreaker.tryAcquire(CACHE_NAME)) {
+            return;
+        }
+
+        RedisCacheConfiguration configuration = configuration();
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (ProductDetailOutput product : products) {
+                byte[] value = ByteUtils.getBytes(configuration.getValueSerializationPair().write(product));
+                Duration ttl = configuration.getTtlFunction().getTimeToLive(product.getId(), product);
+                Expiration expiration = ttl.isZero() || ttl.isNegative()
+                        ? Expiration.persistent()
+                        : Expiration.from(ttl);
+                connection.stringCommands().set(keyOf(configuration, product.getId()), value,
+                        expiration, RedisStringCommands.SetOption.upsert());
+                if (cacheTagIndex.isTagged(CACHE_NAME)) {
+                    cacheTagIndex.tag(connection, CACHE_NAME, product.getId(), cacheTagIndex.tagsOf(product));
+                }
+            }
+            connection.closePipeline();
+            redisCircuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            redisCircuitBreaker.onFailure(e);
+            log.warn("Cache pipelined SET error | cache='{}' | keys='{}' | cause='{}'",
+                    CACHE_NAME, products.size(), e.getClass().getSimpleName());
+        }
+    }
+
+    private RedisCacheConfiguration configuration() {
+        RedisCache cache = (RedisCache) Objects.requireNonNull(redisCacheManager.getCache(CACHE_NAME));
+        return cache.getCacheConfiguration();
+    }
+
+    private byte[] keyOf(RedisCacheConfiguration configuration, UUID productId) {
+        String key = configuration.getKeyPrefixFor(CACHE_NAME)
+                + configuration.getConversionService().convert(productId, String.class);
+        return ByteUtils.getBytes(configuration.getKeySerializationPair().write(key));
+    }
+
+}
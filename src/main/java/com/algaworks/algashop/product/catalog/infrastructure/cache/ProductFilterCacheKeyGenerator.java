@@ -0,0 +1,42 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark.CatalogWatermarks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+@Component("productFilterCacheKeyGenerator")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class ProductFilterCacheKeyGenerator implements KeyGenerator {
+
+    private final CatalogWatermarks catalogWatermarks;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        ProductFilter filter = (ProductFilter) params[0];
+        return filter.cacheKey() + "@" + watermarkOf(filter);
+    }
+
+    public boolean isVersioned(ProductFilter filter) {
+        try {
+            watermarkOf(filter);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not read product listing watermark, bypassing cache | cause='{}'",
+                    e.getClass().getSimpleName());
+            return false;
+        }
+    }
+
+    private String watermarkOf(ProductFilter filter) {
+        return catalogWatermarks.versionOf(CatalogWatermarks.productListingScopes(filter.getCategoriesId()));
+    }
+
+}
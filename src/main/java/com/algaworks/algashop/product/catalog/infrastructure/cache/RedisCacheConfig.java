@@ -1,6 +1,14 @@
 package com.algaworks.algashop.product.catalog.infrastructure.cache;
 
+import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryDetailOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFacetsOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductSummaryOutput;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.cache.autoconfigure.RedisCacheManagerBuilderCustomizer;
@@ -9,7 +17,13 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import java.time.Duration;
 
@@ -22,13 +36,80 @@ public class RedisCacheConfig implements CachingConfigurer {
     private ResilienceCacheErrorHandler resilienceCacheErrorHandler;
 
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(CacheValueSerializers serializers,
+                                                                                 StaleWhileRevalidateProperties staleWhileRevalidate) {
         var defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .computePrefixWith(c -> c + ":")
                 .entryTtl(Duration.ofMinutes(1));
         return (builder) -> builder.cacheDefaults(defaultCacheConfig)
                 .withCacheConfiguration("algashop:products:v1",
-                        defaultCacheConfig.disableCachingNullValues().entryTtl(Duration.ofMinutes(5)));
+                        defaultCacheConfig.disableCachingNullValues()
+                                .entryTtl(staleWhileRevalidate.hardTtlOf("algashop:products:v1", Duration.ofHours(6)))
+                                .serializeValuesWith(serializers.pairFor("algashop:products:v1",
+                                        ProductDetailOutput.class)))
+                .withCacheConfiguration("algashop:products-version:v1",
+                        defaultCacheConfig.disableCachingNullValues().entryTtl(Duration.ofHours(6))
+                                .serializeValuesWith(serializers.pairFor("algashop:products-version:v1",
+                                        ResourceVersionOutput.class)))
+                .withCacheConfiguration("algashop:products-fields:v1",
+                        defaultCacheConfig.disableCachingNullValues().entryTtl(Duration.ofHours(6))
+                                .serializeValuesWith(serializers.pairFor("algashop:products-fields:v1",
+                                        ProductDetailOutput.class)))
+                .withCacheConfiguration("algashop:products-filter:v1",
+                        defaultCacheConfig.disableCachingNullValues().entryTtl(Duration.ofMinutes(5))
+                                .serializeValuesWith(serializers.pairFor("algashop:products-filter:v1",
+                                        PageModel.class, ProductSummaryOutput.class)))
+                .withCacheConfiguration("algashop:products-facets:v1",
+                        defaultCacheConfig.disableCachingNullValues().entryTtl(Duration.ofMinutes(5))
+                                .serializeValuesWith(serializers.pairFor("algashop:products-facets:v1",
+                                        ProductFacetsOutput.class)))
+                .withCacheConfiguration("algashop:categories:v1",
+                        defaultCacheConfig.entryTtl(Duration.ofHours(6))
+                                .serializeValuesWith(serializers.pairFor("algashop:categories:v1",
+                                        CategoryDetailOutput.class)))
+                .withCacheConfiguration("algashop:categories-version:v1",
+                        defaultCacheConfig.disableCachingNullValues().entryTtl(Duration.ofHours(6))
+                                .serializeValuesWith(serializers.pairFor("algashop:categories-version:v1",
+                                        ResourceVersionOutput.class)))
+                .withCacheConfiguration("algashop:categories-filter:v1",
+                        defaultCacheConfig
+                                .entryTtl(staleWhileRevalidate.hardTtlOf("algashop:categories-filter:v1", Duration.ofHours(1)))
+                                .serializeValuesWith(serializers.pairFor("algashop:categories-filter:v1",
+                                        PageModel.class, CategoryDetailOutput.class)));
+    }
+
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                               ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers) {
+        var builder = RedisCacheManager.builder(redisConnectionFactory);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
+    }
+
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             NearCacheProperties nearCacheProperties,
+                                             CacheStampedeProperties cacheStampedeProperties,
+                                             RedisCircuitBreaker redisCircuitBreaker,
+                                             StaleWhileRevalidateProperties staleWhileRevalidateProperties,
+                                             CacheTagIndex cacheTagIndex,
+                                             CacheValueSerializers cacheValueSerializers,
+                                             MeterRegistry meterRegistry) {
+        return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, nearCacheProperties,
+                cacheStampedeProperties, redisCircuitBreaker, staleWhileRevalidateProperties, cacheTagIndex, cacheValueSerializers,
+                meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                                TwoLevelCacheManager cacheManager,
+                                                                                NearCacheProperties nearCacheProperties) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(nearCacheProperties.getInvalidationChannel()));
+        return container;
     }
 
     @Override
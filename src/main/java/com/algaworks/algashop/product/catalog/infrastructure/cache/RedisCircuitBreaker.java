@@ -0,0 +1,337 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class RedisCircuitBreaker implements DisposableBean {
+
+    static final String STATE_METRIC = "algashop.cache.circuit.state";
+    static final String REJECTIONS_METRIC = "algashop.cache.circuit.rejections";
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisCircuitBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ScheduledExecutorService prober;
+
+    private final Deque<Long> failures = new ArrayDeque<>();
+    private final Map<Cache, Set<Object>> deferredEvictions = new LinkedHashMap<>();
+    private final Set<Cache> deferredClears = new LinkedHashSet<>();
+    private final Map<String, Set<Publication>> deferredPublications = new LinkedHashMap<>();
+    private final Map<String, Publication> deferredPublicationClears = new LinkedHashMap<>();
+    private int deferredEvictionCount;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    public RedisCircuitBreaker(RedisConnectionFactory redisConnectionFactory, RedisCircuitBreakerProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(redisConnectionFactory, properties, meterRegistry, Clock.systemUTC(), true);
+    }
+
+    RedisCircuitBreaker(RedisConnectionFactory redisConnectionFactory, RedisCircuitBreakerProperties properties,
+                        MeterRegistry meterRegistry, Clock clock, boolean scheduleProbes) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.prober = scheduleProbes && properties.isEnabled() ? startProber() : null;
+
+        Gauge.builder(STATE_METRIC, this, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = half open, 2 = open")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean tryAcquire(String cacheName) {
+        if (!properties.isEnabled() || state == State.CLOSED) {
+            return true;
+        }
+
+        synchronized (this) {
+            if (state == State.CLOSED || (state == State.HALF_OPEN && trialPermits-- > 0)) {
+                return true;
+            }
+        }
+
+        meterRegistry.counter(REJECTIONS_METRIC, "cache", cacheName).increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        if (state == State.CLOSED) {
+            return;
+        }
+
+        boolean closed = false;
+        synchronized (this) {
+            if (state == State.HALF_OPEN && ++trialSuccesses >= properties.getHalfOpenTrials()) {
+                close();
+                closed = true;
+            }
+        }
+        if (closed) {
+            scheduleReplay();
+        }
+    }
+
+    public void onFailure(RuntimeException exception) {
+        if (!properties.isEnabled() || exception instanceof SerializationException) {
+            return;
+        }
+
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                open(exception);
+                return;
+            }
+            if (state == State.OPEN) {
+                return;
+            }
+
+            long now = clock.millis();
+            failures.addLast(now);
+            long windowStart = now - properties.getFailureWindow().toMillis();
+            while (!failures.isEmpty() && failures.peekFirst() < windowStart) {
+                failures.removeFirst();
+            }
+            if (failures.size() >= properties.getFailureThreshold()) {
+                open(exception);
+            }
+        }
+    }
+
+    public synchronized void deferEviction(Cache cache, Object key) {
+        if (deferredClears.contains(cache)) {
+            return;
+        }
+        if (deferredEvictionCount >= properties.getMaxDeferredEvictions()) {
+            deferClear(cache);
+            return;
+        }
+        if (deferredEvictions.computeIfAbsent(cache, c -> new LinkedHashSet<>()).add(key)) {
+            deferredEvictionCount++;
+        }
+    }
+
+    public synchronized void deferClear(Cache cache) {
+        Set<Object> keys = deferredEvictions.remove(cache);
+        if (keys != null) {
+            deferredEvictionCount -= keys.size();
+        }
+        deferredClears.add(cache);
+    }
+
+    public synchronized void deferPublication(String channel, String cacheName, String message, String clearMessage) {
+        if (deferredPublicationClears.containsKey(cacheName)) {
+            return;
+        }
+        if (deferredEvictionCount >= properties.getMaxDeferredEvictions()) {
+            deferPublicationClear(cacheName, new Publication(channel, clearMessage, clearMessage));
+            return;
+        }
+        if (deferredPublications.computeIfAbsent(cacheName, name -> new LinkedHashSet<>())
+                .add(new Publication(channel, message, clearMessage))) {
+            deferredEvictionCount++;
+        }
+    }
+
+    private void deferPublicationClear(String cacheName, Publication clear) {
+        Set<Publication> publications = deferredPublications.remove(cacheName);
+        if (publications != null) {
+            deferredEvictionCount -= publications.size();
+        }
+        deferredPublicationClears.put(cacheName, clear);
+    }
+
+    synchronized int deferredEvictionCount() {
+        return deferredEvictionCount + deferredClears.size() + deferredPublicationClears.size();
+    }
+
+    void probe() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return;
+        }
+
+        synchronized (this) {
+            if (state == State.OPEN && clock.millis() - openedAt < properties.getOpenDuration().toMillis()) {
+                return;
+            }
+        }
+
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.ping();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                open(e);
+            }
+            return;
+        }
+
+        boolean closed = false;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                halfOpen();
+            } else if (state == State.HALF_OPEN && ++trialSuccesses >= properties.getHalfOpenTrials()) {
+                close();
+                closed = true;
+            }
+        }
+        if (closed) {
+            replayDeferredEvictions();
+        }
+    }
+
+    private void open(RuntimeException cause) {
+        if (state != State.OPEN) {
+            log.warn("Redis circuit breaker opened, cache is bypassed | failures='{}' | cause='{}'",
+                    failures.size(), cause.getClass().getSimpleName());
+        }
+        state = State.OPEN;
+        openedAt = clock.millis();
+        failures.clear();
+    }
+
+    private void halfOpen() {
+        log.info("Redis circuit breaker half open | trials='{}'", properties.getHalfOpenTrials());
+        state = State.HALF_OPEN;
+        trialPermits = properties.getHalfOpenTrials();
+        trialSuccesses = 0;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        failures.clear();
+        log.info("Redis circuit breaker closed");
+    }
+
+    private void scheduleReplay() {
+        if (prober == null) {
+            replayDeferredEvictions();
+            return;
+        }
+        try {
+            prober.execute(this::replayDeferredEvictions);
+        } catch (RejectedExecutionException e) {
+            log.warn("Deferred cache evictions not replayed, prober is shut down");
+        }
+    }
+
+    private void replayDeferredEvictions() {
+        Map<Cache, Set<Object>> evictions;
+        Set<Cache> clears;
+        Map<String, Set<Publication>> publications;
+        Map<String, Publication> publicationClears;
+        synchronized (this) {
+            evictions = new LinkedHashMap<>(deferredEvictions);
+            clears = new LinkedHashSet<>(deferredClears);
+            publications = new LinkedHashMap<>(deferredPublications);
+            publicationClears = new LinkedHashMap<>(deferredPublicationClears);
+            deferredEvictions.clear();
+            deferredClears.clear();
+            deferredPublications.clear();
+            deferredPublicationClears.clear();
+            deferredEvictionCount = 0;
+        }
+
+        try {
+            clears.forEach(Cache::clear);
+            evictions.forEach((cache, keys) -> keys.forEach(cache::evict));
+            publish(publicationClears.values());
+            publications.values().forEach(this::publish);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                clears.forEach(this::deferClear);
+                evictions.keySet().stream()
+                        .filter(cache -> !clears.contains(cache))
+                        .forEach(this::deferClear);
+                publicationClears.forEach(this::deferPublicationClear);
+                publications.forEach((cacheName, messages) -> {
+                    Publication any = messages.iterator().next();
+                    deferPublicationClear(cacheName,
+                            new Publication(any.channel(), any.clearMessage(), any.clearMessage()));
+                });
+                open(e);
+            }
+        }
+    }
+
+    private void publish(Collection<Publication> publications) {
+        if (publications.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            for (Publication publication : publications) {
+                connection.publish(publication.channel().getBytes(StandardCharsets.UTF_8),
+                        publication.message().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private ScheduledExecutorService startProber() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-circuit-breaker-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getProbeInterval().toMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                probe();
+            } catch (RuntimeException e) {
+                log.warn("Redis circuit breaker probe failed | cause='{}'", e.getClass().getSimpleName());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    private record Publication(String channel, String message, String clearMessage) {
+    }
+
+}
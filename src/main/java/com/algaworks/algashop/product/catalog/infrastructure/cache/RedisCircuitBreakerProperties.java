@@ -0,0 +1,38 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("algashop.cache.circuit-breaker")
+@Data
+@Validated
+public class RedisCircuitBreakerProperties {
+
+    private boolean enabled = true;
+
+    @Positive
+    private int failureThreshold = 5;
+
+    @NotNull
+    private Duration failureWindow = Duration.ofSeconds(10);
+
+    @NotNull
+    private Duration openDuration = Duration.ofSeconds(15);
+
+    @NotNull
+    private Duration probeInterval = Duration.ofSeconds(2);
+
+    @Positive
+    private int halfOpenTrials = 3;
+
+    @Positive
+    private int maxDeferredEvictions = 10_000;
+
+}
@@ -1,5 +1,7 @@
 package com.algaworks.algashop.product.catalog.infrastructure.cache;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -8,11 +10,18 @@ import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
+
 @Component
 @Slf4j
+@RequiredArgsConstructor
 @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
 public class ResilienceCacheErrorHandler implements CacheErrorHandler {
 
+    static final String ERRORS_METRIC = "algashop.cache.errors";
+
+    private final MeterRegistry meterRegistry;
+
     @Override
     public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
         String method = "GET";
@@ -42,6 +51,7 @@ public class ResilienceCacheErrorHandler implements CacheErrorHandler {
     }
 
     private void logWarn(RuntimeException exception, Cache cache, Object key, String method) {
+        countError(exception, cache, method);
         log.warn("Cache {} error | cache='{}' | key = '{}' | cause='{}'",
                 method,
                 cache.getName(),
@@ -51,6 +61,7 @@ public class ResilienceCacheErrorHandler implements CacheErrorHandler {
     }
 
     private void logError(RuntimeException exception, Cache cache, Object key, String method) {
+        countError(exception, cache, method);
         log.error("Cache {} error | cache='{}' | key = '{}' | cause='{}'",
                 method,
                 cache.getName(),
@@ -60,4 +71,11 @@ public class ResilienceCacheErrorHandler implements CacheErrorHandler {
         );
     }
 
+    private void countError(RuntimeException exception, Cache cache, String method) {
+        meterRegistry.counter(ERRORS_METRIC,
+                "cache", cache.getName(),
+                "operation", method.toLowerCase(Locale.ROOT),
+                "cause", exception.getClass().getSimpleName()).increment();
+    }
+
 }
@@ -0,0 +1,67 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties("algashop.cache.stale-while-revalidate")
+@Data
+@Validated
+public class StaleWhileRevalidateProperties {
+
+    private boolean enabled = true;
+
+    @Positive
+    private int refreshThreads = 2;
+
+    @Positive
+    private int refreshQueueCapacity = 1_000;
+
+    @Valid
+    @NotNull
+    private Map<String, Policy> caches = new HashMap<>(Map.of(
+            "algashop:products:v1", new Policy(Duration.ofHours(1), Duration.ofHours(6)),
+            "algashop:categories-filter:v1", new Policy(Duration.ofMinutes(5), Duration.ofHours(1))
+    ));
+
+    public @Nullable Policy policyOf(String cacheName) {
+        return enabled ? caches.get(cacheName) : null;
+    }
+
+    public Duration hardTtlOf(String cacheName, Duration defaultTtl) {
+        Policy policy = caches.get(cacheName);
+        return policy == null ? defaultTtl : policy.getHardTtl();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+
+        @NotNull
+        private Duration softTtl;
+
+        @NotNull
+        private Duration hardTtl;
+
+        @AssertTrue(message = "softTtl must be shorter than hardTtl")
+        public boolean isSoftTtlShorterThanHardTtl() {
+            return softTtl == null || hardTtl == null || softTtl.compareTo(hardTtl) < 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,373 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Slf4j
+class StampedeProtectedCache implements Cache {
+
+    static final String STAMPEDE_METRIC = "algashop.cache.stampede";
+
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final Cache delegate;
+    private final RedisCacheConfiguration cacheConfiguration;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheStampedeProperties.Policy policy;
+    private final StaleWhileRevalidateProperties.@Nullable Policy staleWhileRevalidate;
+    private final Executor refreshExecutor;
+    private final Consumer<Object> refreshed;
+    private final String leaseKeyPrefix;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong averageLoadMillis = new AtomicLong();
+    private final com.github.benmanes.caffeine.cache.Cache<String, Freshness> freshness;
+
+    StampedeProtectedCache(Cache delegate, RedisCacheConfiguration cacheConfiguration,
+                           StringRedisTemplate stringRedisTemplate, CacheStampedeProperties.Policy policy,
+                           String leaseKeyPrefix, MeterRegistry meterRegistry) {
+        this(delegate, cacheConfiguration, stringRedisTemplate, policy, null, Runnable::run, key -> {
+        }, leaseKeyPrefix, meterRegistry);
+    }
+
+    StampedeProtectedCache(Cache delegate, RedisCacheConfiguration cacheConfiguration,
+                           StringRedisTemplate stringRedisTemplate, CacheStampedeProperties.Policy policy,
+                           StaleWhileRevalidateProperties.@Nullable Policy staleWhileRevalidate,
+                           Executor refreshExecutor, Consumer<Object> refreshed,
+                           String leaseKeyPrefix, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cacheConfiguration = cacheConfiguration;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.policy = policy;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshed = refreshed;
+        this.leaseKeyPrefix = leaseKeyPrefix + delegate.getName() + ":";
+        this.meterRegistry = meterRegistry;
+        this.freshness = Caffeine.newBuilder()
+                .maximumSize(policy.getTrackedEntries())
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = String.valueOf(key);
+
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            if (!earlyRefreshDue(cacheKey)) {
+                return (T) cached.get();
+            }
+            String lease = tryAcquireLease(cacheKey);
+            if (lease == null) {
+                record("stale-served");
+                return (T) cached.get();
+            }
+            refreshInBackground(key, cacheKey, valueLoader, lease);
+            return (T) cached.get();
+        }
+
+        return (T) singleFlight(cacheKey, () -> loadWithLease(key, cacheKey, valueLoader));
+    }
+
+    @Override
+    public @Nullable CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        track(key, value, averageLoadMillis.get());
+    }
+
+    @Override
+    public @Nullable ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        freshness.invalidate(String.valueOf(key));
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        freshness.invalidate(String.valueOf(key));
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        freshness.invalidate(String.valueOf(key));
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        freshness.invalidateAll();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        freshness.invalidateAll();
+        return delegate.invalidate();
+    }
+
+    private Object singleFlight(String cacheKey, Callable<Object> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(cacheKey, mine);
+        if (leader != null) {
+            record("coalesced");
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException : e;
+            }
+        }
+
+        try {
+            Object value = loader.call();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            ValueRetrievalException exception = new ValueRetrievalException(cacheKey, loader, e);
+            mine.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private void refreshInBackground(Object key, String cacheKey, Callable<?> valueLoader, String lease) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    singleFlight(cacheKey, () -> loadAndPut(key, valueLoader));
+                    refreshed.accept(key);
+                } catch (RuntimeException e) {
+                    record("refresh-failed");
+                    log.warn("Cache refresh failed | cache='{}' | key='{}' | cause='{}'",
+                            getName(), cacheKey, e.getClass().getSimpleName());
+                } finally {
+                    releaseLease(cacheKey, lease);
+                }
+            });
+            record("early-refresh");
+        } catch (RejectedExecutionException e) {
+            releaseLease(cacheKey, lease);
+            record("refresh-rejected");
+        }
+    }
+
+    private Object loadWithLease(Object key, String cacheKey, Callable<?> valueLoader) throws Exception {
+        String lease = tryAcquireLease(cacheKey);
+        if (lease != null) {
+            record("lease-acquired");
+            try {
+                ValueWrapper loadedElsewhere = delegate.get(key);
+                return loadedElsewhere != null ? loadedElsewhere.get() : loadAndPut(key, valueLoader);
+            } finally {
+                releaseLease(cacheKey, lease);
+            }
+        }
+
+        long deadline = System.nanoTime() + policy.getWaitTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(policy.getPollInterval().toMillis());
+            ValueWrapper loaded = delegate.get(key);
+            if (loaded != null) {
+                record("lease-waited");
+                return loaded.get();
+            }
+        }
+
+        record("lease-timeout");
+        return loadAndPut(key, valueLoader);
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value = load(key, valueLoader);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        averageLoadMillis.updateAndGet(average -> average == 0 ? elapsedMillis : (average * 7 + elapsedMillis) / 8);
+        delegate.put(key, value);
+        track(key, value, elapsedMillis);
+        return value;
+    }
+
+    private void track(Object key, @Nullable Object value, long deltaMillis) {
+        if (!refreshes()) {
+            return;
+        }
+        Duration ttl = staleWhileRevalidate != null
+                ? staleWhileRevalidate.getSoftTtl()
+                : cacheConfiguration.getTtlFunction().getTimeToLive(key, value);
+        if (ttl.isZero() || ttl.isNegative()) {
+            freshness.invalidate(String.valueOf(key));
+            return;
+        }
+        long now = System.currentTimeMillis();
+        freshness.put(String.valueOf(key), new Freshness(now + ttl.toMillis(), deltaMillis, now));
+    }
+
+    private boolean refreshes() {
+        return (policy.isEarlyRefresh() && policy.getBeta() > 0) || staleWhileRevalidate != null;
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (ValueRetrievalException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private boolean earlyRefreshDue(String cacheKey) {
+        if (!refreshes()) {
+            return false;
+        }
+        Freshness entry = freshnessOf(cacheKey);
+        if (entry == null) {
+            return false;
+        }
+        long remainingMillis = entry.freshUntilMillis() - System.currentTimeMillis();
+        double delta = Math.max(1, entry.deltaMillis());
+        double gap = -delta * policy.getBeta() * Math.log(ThreadLocalRandom.current().nextDouble(Double.MIN_VALUE, 1));
+        return gap >= remainingMillis;
+    }
+
+    private @Nullable Freshness freshnessOf(String cacheKey) {
+        long now = System.currentTimeMillis();
+        Freshness entry = freshness.getIfPresent(cacheKey);
+        if (entry == null || entry.recheckDue(now, policy.getTtlRecheckInterval().toMillis())) {
+            entry = remainingFreshness(cacheKey, now);
+            freshness.put(cacheKey, entry);
+        }
+        return entry.isUnknown() ? null : entry;
+    }
+
+    private Freshness remainingFreshness(String cacheKey, long now) {
+        try {
+            Long remainingMillis = stringRedisTemplate.getExpire(redisKeyOf(cacheKey), TimeUnit.MILLISECONDS);
+            if (remainingMillis == null || remainingMillis <= 0) {
+                return Freshness.unknown(now);
+            }
+            long staleMillis = staleWhileRevalidate == null ? 0
+                    : staleWhileRevalidate.getHardTtl().minus(staleWhileRevalidate.getSoftTtl()).toMillis();
+            return new Freshness(now + remainingMillis - staleMillis, averageLoadMillis.get(), now);
+        } catch (RuntimeException e) {
+            return Freshness.unknown(now);
+        }
+    }
+
+    private @Nullable String tryAcquireLease(String cacheKey) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(leaseKeyPrefix + cacheKey, token, policy.getLeaseTtl());
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (RuntimeException e) {
+            log.warn("Cache lease error | cache='{}' | key='{}' | cause='{}'",
+                    getName(), cacheKey, e.getClass().getSimpleName());
+            return token;
+        }
+    }
+
+    private void releaseLease(String cacheKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LEASE, List.of(leaseKeyPrefix + cacheKey), token);
+        } catch (RuntimeException e) {
+            log.warn("Cache lease release error | cache='{}' | key='{}' | cause='{}'",
+                    getName(), cacheKey, e.getClass().getSimpleName());
+        }
+    }
+
+    private String redisKeyOf(String cacheKey) {
+        return cacheConfiguration.getKeyPrefixFor(getName())
+                + Objects.requireNonNull(cacheConfiguration.getConversionService()
+                .convert(cacheKey, String.class));
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter(STAMPEDE_METRIC, "cache", getName(), "outcome", outcome).increment();
+    }
+
+    private record Freshness(long freshUntilMillis, long deltaMillis, long checkedAtMillis) {
+
+        private static final long UNKNOWN = -1;
+
+        static Freshness unknown(long now) {
+            return new Freshness(UNKNOWN, 0, now);
+        }
+
+        boolean isUnknown() {
+            return freshUntilMillis == UNKNOWN;
+        }
+
+        boolean recheckDue(long now, long recheckMillis) {
+            return (isUnknown() || freshUntilMillis <= now) && checkedAtMillis + recheckMillis <= now;
+        }
+
+    }
+
+}
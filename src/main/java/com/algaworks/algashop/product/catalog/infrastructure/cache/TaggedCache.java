@@ -0,0 +1,111 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@Slf4j
+class TaggedCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheTagIndex cacheTagIndex;
+
+    TaggedCache(Cache delegate, CacheTagIndex cacheTagIndex) {
+        this.delegate = delegate;
+        this.cacheTagIndex = cacheTagIndex;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, () -> {
+            T value = valueLoader.call();
+            tag(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public @Nullable CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, () -> valueLoader.get().thenApply(value -> {
+            tag(key, value);
+            return value;
+        }));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        tag(key, value);
+    }
+
+    @Override
+    public @Nullable ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            tag(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void tag(Object key, @Nullable Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            cacheTagIndex.tag(getName(), key, value);
+        } catch (RuntimeException e) {
+            log.warn("Cache entry not tagged | cache='{}' | key='{}' | cause='{}'",
+                    getName(), key, e.getClass().getSimpleName());
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+class TwoLevelCache implements Cache {
+
+    static final String GETS_METRIC = "algashop.cache.gets";
+    static final String SIZE_METRIC = "algashop.cache.size";
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final RedisSerializer<Object> localSerializer;
+    private final TwoLevelCacheManager.InvalidationPublisher invalidationPublisher;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    TwoLevelCache(Cache remote, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                  RedisSerializer<Object> localSerializer,
+                  TwoLevelCacheManager.InvalidationPublisher invalidationPublisher, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.local = local;
+        this.localSerializer = localSerializer;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localHits = counter(meterRegistry, "l1", "hit");
+        this.localMisses = counter(meterRegistry, "l1", "miss");
+        this.remoteHits = counter(meterRegistry, "l2", "hit");
+        this.remoteMisses = counter(meterRegistry, "l2", "miss");
+        Gauge.builder(SIZE_METRIC, local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", remote.getName())
+                .tag("level", "l1")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(fromLocal(cached));
+        }
+        localMisses.increment();
+
+        ValueWrapper loaded = remote.get(key);
+        if (loaded == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        putLocal(localKey, loaded.get());
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(String.format("Cached value for key '%s' is not of required type [%s]: %s",
+                    key, type.getName(), value));
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            return (T) fromLocal(cached);
+        }
+        localMisses.increment();
+
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = remote.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        (loaded.get() ? remoteMisses : remoteHits).increment();
+        putLocal(localKey, value);
+        return value;
+    }
+
+    @Override
+    public @Nullable CompletableFuture<?> retrieve(Object key) {
+        return remote.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return remote.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        putLocal(localKey, value);
+        invalidationPublisher.evicted(getName(), localKey);
+    }
+
+    @Override
+    public @Nullable ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        evictLocal(localKey(key));
+        invalidationPublisher.evicted(getName(), localKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(localKey(key));
+        invalidationPublisher.evicted(getName(), localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        evictLocal(localKey(key));
+        invalidationPublisher.evicted(getName(), localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        invalidationPublisher.cleared(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        clearLocal();
+        invalidationPublisher.cleared(getName());
+        return invalidated;
+    }
+
+    private void putLocal(String localKey, @Nullable Object value) {
+        Object detached = value == null ? null : localSerializer.deserialize(localSerializer.serialize(value));
+        local.put(localKey, detached == null ? NullValue.INSTANCE : detached);
+    }
+
+    private static @Nullable Object fromLocal(Object cached) {
+        return cached == NullValue.INSTANCE ? null : cached;
+    }
+
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder(GETS_METRIC)
+                .tag("cache", remote.getName())
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    private static final String SEPARATOR = "\t";
+    private static final String EVICT = "EVICT";
+    private static final String EVICT_ALL = "EVICT_ALL";
+    private static final String KEY_SEPARATOR = "\n";
+    private static final int EVICT_ALL_BATCH_SIZE = 500;
+    private static final String CLEAR = "CLEAR";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NearCacheProperties properties;
+    private final CacheStampedeProperties stampedeProperties;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final StaleWhileRevalidateProperties staleWhileRevalidateProperties;
+    private final CacheTagIndex cacheTagIndex;
+    private final CacheValueSerializers cacheValueSerializers;
+    private final MeterRegistry meterRegistry;
+    private final InvalidationPublisher invalidationPublisher;
+    private final ExecutorService refreshExecutor;
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, StringRedisTemplate stringRedisTemplate,
+                                NearCacheProperties properties, CacheStampedeProperties stampedeProperties,
+                                RedisCircuitBreaker circuitBreaker,
+                                StaleWhileRevalidateProperties staleWhileRevalidateProperties,
+                                CacheTagIndex cacheTagIndex, CacheValueSerializers cacheValueSerializers,
+                                MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+        this.stampedeProperties = stampedeProperties;
+        this.circuitBreaker = circuitBreaker;
+        this.staleWhileRevalidateProperties = staleWhileRevalidateProperties;
+        this.cacheTagIndex = cacheTagIndex;
+        this.cacheValueSerializers = cacheValueSerializers;
+        this.meterRegistry = meterRegistry;
+        this.invalidationPublisher = new InvalidationPublisher();
+        this.refreshExecutor = newRefreshExecutor(staleWhileRevalidateProperties);
+    }
+
+    @Override
+    public @Nullable Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, n -> decorate(remote));
+    }
+
+    private Cache decorate(Cache remote) {
+        Cache cache = new InstrumentedCache(remote, meterRegistry);
+
+        CacheStampedeProperties.Policy policy = stampedeProperties.getCaches().get(remote.getName());
+        StaleWhileRevalidateProperties.Policy refreshPolicy = staleWhileRevalidateProperties.policyOf(remote.getName());
+        if (stampedeProperties.isEnabled() && (policy != null || refreshPolicy != null)
+                && remote instanceof RedisCache redisCache) {
+            cache = new StampedeProtectedCache(cache, redisCache.getCacheConfiguration(), stringRedisTemplate,
+                    policy != null ? policy : new CacheStampedeProperties.Policy(), refreshPolicy, refreshExecutor,
+                    key -> evictNearCached(remote.getName(), List.of(TwoLevelCache.localKey(key))),
+                    stampedeProperties.getLeaseKeyPrefix(), meterRegistry);
+        }
+
+        if (cacheTagIndex.isTagged(remote.getName())) {
+            cache = new TaggedCache(cache, cacheTagIndex);
+        }
+
+        if (circuitBreaker.isEnabled()) {
+            cache = new CircuitBreakingCache(cache, circuitBreaker);
+        }
+
+        RedisSerializer<Object> localSerializer = cacheValueSerializers.nearCacheSerializerFor(remote.getName());
+        if (properties.isEnabled() && properties.getCaches().contains(remote.getName()) && localSerializer != null) {
+            cache = new TwoLevelCache(cache,
+                    Caffeine.newBuilder()
+                            .maximumSize(properties.getMaximumSize())
+                            .expireAfterWrite(properties.getExpireAfterWrite())
+                            .build(),
+                    localSerializer, invalidationPublisher, meterRegistry);
+        }
+
+        return cache;
+    }
+
+    public void evictNearCached(String cacheName, Collection<String> keys) {
+        if (keys.isEmpty() || !(getCache(cacheName) instanceof TwoLevelCache cache)) {
+            return;
+        }
+        keys.forEach(cache::evictLocal);
+
+        List<String> batch = new ArrayList<>(keys);
+        for (int from = 0; from < batch.size(); from += EVICT_ALL_BATCH_SIZE) {
+            invalidationPublisher.evictedAll(cacheName,
+                    batch.subList(from, Math.min(from + EVICT_ALL_BATCH_SIZE, batch.size())));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte @Nullable [] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        if (!(caches.get(parts[2]) instanceof TwoLevelCache cache)) {
+            return;
+        }
+
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        } else if (EVICT_ALL.equals(parts[1]) && parts.length == 4) {
+            for (String key : parts[3].split(KEY_SEPARATOR)) {
+                cache.evictLocal(key);
+            }
+        }
+    }
+
+    private static ExecutorService newRefreshExecutor(StaleWhileRevalidateProperties properties) {
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(properties.getRefreshThreads(), properties.getRefreshThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(properties.getRefreshQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    class InvalidationPublisher {
+
+        void evicted(String cacheName, String key) {
+            publish(cacheName, String.join(SEPARATOR, nodeId, EVICT, cacheName, key));
+        }
+
+        void evictedAll(String cacheName, Collection<String> keys) {
+            publish(cacheName, String.join(SEPARATOR, nodeId, EVICT_ALL, cacheName, String.join(KEY_SEPARATOR, keys)));
+        }
+
+        void cleared(String cacheName) {
+            publish(cacheName, String.join(SEPARATOR, nodeId, CLEAR, cacheName));
+        }
+
+        private void publish(String cacheName, String message) {
+            if (circuitBreaker.getState() == RedisCircuitBreaker.State.OPEN) {
+                circuitBreaker.deferPublication(properties.getInvalidationChannel(), cacheName, message,
+                        String.join(SEPARATOR, nodeId, CLEAR, cacheName));
+                return;
+            }
+            try {
+                stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+            } catch (RuntimeException e) {
+                log.warn("Near cache invalidation not published | channel='{}' | cause='{}'",
+                        properties.getInvalidationChannel(), e.getClass().getSimpleName());
+            }
+        }
+
+    }
+
+}
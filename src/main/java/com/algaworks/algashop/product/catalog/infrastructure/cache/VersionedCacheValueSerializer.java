@@ -0,0 +1,80 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class VersionedCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xAC;
+    static final byte HEADER_VERSION = 2;
+
+    private static final int FIXED_HEADER_LENGTH = 4;
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final byte[] typeTag;
+
+    public VersionedCacheValueSerializer(ObjectMapper objectMapper, JavaType valueType) {
+        this.writer = objectMapper.writerFor(valueType);
+        this.reader = objectMapper.readerFor(valueType);
+        this.typeTag = valueType.toCanonical().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] payload;
+        try {
+            payload = writer.writeValueAsBytes(value);
+        } catch (JacksonException e) {
+            throw new SerializationException("Could not encode cache value", e);
+        }
+
+        return ByteBuffer.allocate(FIXED_HEADER_LENGTH + typeTag.length + payload.length)
+                .put(MAGIC)
+                .put(HEADER_VERSION)
+                .putShort((short) typeTag.length)
+                .put(typeTag)
+                .put(payload)
+                .array();
+    }
+
+    @Override
+    public @Nullable Object deserialize(byte @Nullable [] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < FIXED_HEADER_LENGTH + typeTag.length) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() != MAGIC || buffer.get() != HEADER_VERSION) {
+            return null;
+        }
+
+        int tagLength = Short.toUnsignedInt(buffer.getShort());
+        if (tagLength != typeTag.length
+                || !Arrays.equals(bytes, buffer.position(), buffer.position() + tagLength, typeTag, 0, tagLength)) {
+            return null;
+        }
+        buffer.position(buffer.position() + tagLength);
+
+        try {
+            return reader.readValue(bytes, buffer.position(), buffer.remaining());
+        } catch (JacksonException e) {
+            throw new SerializationException("Could not decode cache value", e);
+        }
+    }
+
+}
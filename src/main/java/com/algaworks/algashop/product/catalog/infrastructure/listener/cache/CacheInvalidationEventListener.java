@@ -0,0 +1,171 @@
+package com.algaworks.algashop.product.catalog.infrastructure.listener.cache;
+
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryProductsUpdatedEvent;
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryUpdatedEvent;
+import com.algaworks.algashop.product.catalog.domain.model.product.*;
+import com.algaworks.algashop.product.catalog.infrastructure.cache.CacheTagIndex;
+import com.algaworks.algashop.product.catalog.infrastructure.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class CacheInvalidationEventListener {
+
+    static final String PRODUCTS = "algashop:products:v1";
+    static final String PRODUCTS_FIELDS = "algashop:products-fields:v1";
+    static final String PRODUCTS_VERSION = "algashop:products-version:v1";
+    static final String CATEGORIES = "algashop:categories:v1";
+    static final String CATEGORIES_VERSION = "algashop:categories-version:v1";
+
+    private final CacheManager cacheManager;
+    private final CacheTagIndex cacheTagIndex;
+    private final MeterRegistry meterRegistry;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductAddedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductDetailsChangedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductPriceChangedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductPlacedOnSaleEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductCategoryChangedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductListedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductDelistedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductStockChangedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductImagesChangedEvent event) {
+        evictProduct(event.getProductId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(CategoryUpdatedEvent event) {
+        evict(CATEGORIES, event.getCategoryId(), event);
+        evict(CATEGORIES_VERSION, event.getCategoryId(), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(CategoryProductsUpdatedEvent event) {
+        String eventName = event.getClass().getSimpleName();
+        try {
+            Map<String, Set<String>> evicted = new HashMap<>();
+            cacheTagIndex.invalidate(CacheTagIndex.categoryTag(event.getCategoryId())).forEach((cacheName, keys) ->
+                    evicted.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).addAll(keys));
+            evicted.computeIfAbsent(PRODUCTS, name -> new LinkedHashSet<>())
+                    .addAll(cacheTagIndex.delete(PRODUCTS, event.getProductIds()));
+            evicted.computeIfAbsent(PRODUCTS_VERSION, name -> new LinkedHashSet<>())
+                    .addAll(cacheTagIndex.delete(PRODUCTS_VERSION, event.getProductIds()));
+
+            evicted.forEach((cacheName, keys) -> {
+                if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+                    twoLevelCacheManager.evictNearCached(cacheName, keys);
+                }
+                invalidations(cacheName, eventName, "evicted").increment(keys.size());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not invalidate cache entries by tag, evicting one by one | category='{}' | products='{}' | cause='{}'",
+                    event.getCategoryId(), event.getProductIds().size(), e.getClass().getSimpleName());
+            evictProducts(event.getProductIds(), event);
+        }
+    }
+
+    private void evictProducts(Collection<UUID> productIds, Object event) {
+        productIds.forEach(productId -> evictProduct(productId, event));
+    }
+
+    private void evictProduct(UUID productId, Object event) {
+        if (productId == null) {
+            return;
+        }
+        evict(PRODUCTS, productId, event);
+        evict(PRODUCTS_VERSION, productId, event);
+        invalidateTagged(CacheTagIndex.productTag(productId), event);
+    }
+
+    private void invalidateTagged(String tag, Object event) {
+        String eventName = event.getClass().getSimpleName();
+        try {
+            cacheTagIndex.invalidate(tag).forEach((cacheName, keys) -> {
+                if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+                    twoLevelCacheManager.evictNearCached(cacheName, keys);
+                }
+                invalidations(cacheName, eventName, "evicted").increment(keys.size());
+            });
+        } catch (RuntimeException e) {
+            invalidations(PRODUCTS_FIELDS, eventName, "failed").increment();
+            log.warn("Could not invalidate tagged cache entries | tag='{}' | event='{}' | cause='{}'",
+                    tag, eventName, e.getClass().getSimpleName());
+        }
+    }
+
+    private void evict(String cacheName, Object key, Object event) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+
+        String eventName = event.getClass().getSimpleName();
+        try {
+            cache.evict(key);
+            invalidations(cacheName, eventName, "evicted").increment();
+        } catch (RuntimeException e) {
+            invalidations(cacheName, eventName, "failed").increment();
+            log.warn("Could not invalidate cache entry | cache='{}' | key='{}' | event='{}' | cause='{}'",
+                    cacheName, key, eventName, e.getClass().getSimpleName());
+        }
+    }
+
+    private Counter invalidations(String cacheName, String eventName, String outcome) {
+        return Counter.builder("algashop.cache.invalidations")
+                .tag("cache", cacheName)
+                .tag("event", eventName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+}
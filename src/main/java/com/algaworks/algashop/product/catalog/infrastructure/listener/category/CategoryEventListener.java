@@ -1,12 +1,18 @@
 package com.algaworks.algashop.product.catalog.infrastructure.listener.category;
 
+import com.algaworks.algashop.product.catalog.application.ApplicationMessagePublisher;
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryProductsUpdatedEvent;
 import com.algaworks.algashop.product.catalog.application.category.event.CategoryUpdatedEvent;
 import com.algaworks.algashop.product.catalog.infrastructure.persistence.category.ProductCategoryUpdater;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark.CatalogWatermarks;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
 
 @Component
 @Slf4j
@@ -14,11 +20,20 @@ import org.springframework.stereotype.Component;
 public class CategoryEventListener {
 
     private final ProductCategoryUpdater productCategoryUpdater;
+    private final CatalogWatermarks catalogWatermarks;
+    private final ApplicationMessagePublisher applicationMessagePublisher;
 
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     @Async
     public void handle(CategoryUpdatedEvent categoryUpdatedEvent) {
-        productCategoryUpdater.copyCategoryDataToProducts(categoryUpdatedEvent);
+        List<UUID> productIds = productCategoryUpdater.copyCategoryDataToProducts(categoryUpdatedEvent);
+        if (!productIds.isEmpty()) {
+            catalogWatermarks.advance(CatalogWatermarks.productScopes(List.of(categoryUpdatedEvent.getCategoryId())));
+            applicationMessagePublisher.send(CategoryProductsUpdatedEvent.builder()
+                    .categoryId(categoryUpdatedEvent.getCategoryId())
+                    .productIds(productIds)
+                    .build());
+        }
     }
 
 }
@@ -24,6 +24,16 @@ public class ProductEventListener {
         log.info("ProductAddedEvent " + event);
     }
 
+    @EventListener(ProductDetailsChangedEvent.class)
+    public void handle(ProductDetailsChangedEvent event) {
+        log.info("ProductDetailsChangedEvent " + event);
+    }
+
+    @EventListener(ProductCategoryChangedEvent.class)
+    public void handle(ProductCategoryChangedEvent event) {
+        log.info("ProductCategoryChangedEvent " + event);
+    }
+
     @EventListener(ProductDelistedEvent.class)
     public void handle(ProductDelistedEvent event) {
         log.info("ProductDelistedEvent  " + event);
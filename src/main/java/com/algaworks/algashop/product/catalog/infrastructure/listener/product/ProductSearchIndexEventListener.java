@@ -0,0 +1,43 @@
+package com.algaworks.algashop.product.catalog.infrastructure.listener.product;
+
+import com.algaworks.algashop.product.catalog.domain.model.product.ProductAddedEvent;
+import com.algaworks.algashop.product.catalog.domain.model.product.ProductDelistedEvent;
+import com.algaworks.algashop.product.catalog.domain.model.product.ProductDetailsChangedEvent;
+import com.algaworks.algashop.product.catalog.domain.model.product.ProductListedEvent;
+import com.algaworks.algashop.product.catalog.infrastructure.search.ProductSearchIndexUpdater;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexEventListener {
+
+    private final ProductSearchIndexUpdater productSearchIndexUpdater;
+
+    @EventListener
+    @Async
+    public void handle(ProductAddedEvent event) {
+        productSearchIndexUpdater.reindex(event.getProductId());
+    }
+
+    @EventListener
+    @Async
+    public void handle(ProductDetailsChangedEvent event) {
+        productSearchIndexUpdater.reindex(event.getProductId());
+    }
+
+    @EventListener
+    @Async
+    public void handle(ProductListedEvent event) {
+        productSearchIndexUpdater.reindex(event.getProductId());
+    }
+
+    @EventListener
+    @Async
+    public void handle(ProductDelistedEvent event) {
+        productSearchIndexUpdater.reindex(event.getProductId());
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.algaworks.algashop.product.catalog.infrastructure.listener.watermark;
+
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryCreatedEvent;
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryUpdatedEvent;
+import com.algaworks.algashop.product.catalog.domain.model.product.*;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark.CatalogWatermarks;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogWatermarkEventListener {
+
+    private final CatalogWatermarks catalogWatermarks;
+    private final MongoOperations mongoOperations;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(CategoryCreatedEvent event) {
+        catalogWatermarks.advance(List.of(CatalogWatermarks.CATEGORIES));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(CategoryUpdatedEvent event) {
+        catalogWatermarks.advance(List.of(CatalogWatermarks.CATEGORIES));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductAddedEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductPriceChangedEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductDetailsChangedEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductListedEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductDelistedEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductRestockedEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductSoldOutEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductStockChangedEvent event) {
+        advanceListingsOf(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(ProductCategoryChangedEvent event) {
+        catalogWatermarks.advance(CatalogWatermarks.productScopes(
+                Arrays.asList(event.getOldCategoryId(), event.getNewCategoryId())));
+    }
+
+    private void advanceListingsOf(UUID productId) {
+        Query query = new Query(Criteria.where("_id").is(productId));
+        query.fields().include("categoryId");
+        Document product = mongoOperations.findOne(query, Document.class, "products");
+
+        List<UUID> categoryIds = new ArrayList<>();
+        if (product != null && product.get("categoryId") != null) {
+            categoryIds.add(product.get("categoryId", UUID.class));
+        }
+        catalogWatermarks.advance(CatalogWatermarks.productScopes(categoryIds));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence;
+
+import com.algaworks.algashop.product.catalog.application.InvalidFilterException;
+import com.algaworks.algashop.product.catalog.application.QueryBudgetExceededException;
+import com.algaworks.algashop.product.catalog.application.utility.PageFilter;
+import com.mongodb.MongoExecutionTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class QueryAdmissionControl {
+
+    public static final String REJECTIONS_METRIC = "algashop.query.rejections";
+
+    private final QueryAdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public void admit(QueryType queryType, PageFilter filter) {
+        admit(queryType, filter, false);
+    }
+
+    public void admit(QueryType queryType, PageFilter filter, boolean keyset) {
+        if (filter.getSize() < 1 || filter.getSize() > properties.getMaxPageSize()) {
+            reject(queryType, "page-size");
+            throw new InvalidFilterException(String.format("Page size must be between 1 and %d",
+                    properties.getMaxPageSize()));
+        }
+
+        if (filter.getPage() < 0) {
+            reject(queryType, "offset");
+            throw new InvalidFilterException("Page must not be negative");
+        }
+
+        long offset = (long) filter.getPage() * filter.getSize();
+        if (!keyset && offset > properties.getMaxOffset()) {
+            reject(queryType, "offset");
+            throw new InvalidFilterException(String.format(
+                    "Offset %d exceeds the maximum of %d; use cursor pagination to read deeper pages",
+                    offset, properties.getMaxOffset()));
+        }
+    }
+
+    public Query budgeted(QueryType queryType, Query query) {
+        return query.maxTime(properties.budgetOf(queryType));
+    }
+
+    public Aggregation budgeted(QueryType queryType, Aggregation aggregation) {
+        return aggregation.withOptions(options(queryType).build());
+    }
+
+    public AggregationOptions.Builder options(QueryType queryType) {
+        return AggregationOptions.builder().maxTime(properties.budgetOf(queryType));
+    }
+
+    public <T> T execute(QueryType queryType, Supplier<T> query) {
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            if (ExceptionUtils.indexOfType(e, MongoExecutionTimeoutException.class) < 0) {
+                throw e;
+            }
+            reject(queryType, "budget");
+            throw new QueryBudgetExceededException(String.format("Query exceeded its %d ms budget, retry later",
+                    properties.budgetOf(queryType).toMillis()), e);
+        }
+    }
+
+    public void run(QueryType queryType, Runnable query) {
+        execute(queryType, () -> {
+            query.run();
+            return null;
+        });
+    }
+
+    private void reject(QueryType queryType, String reason) {
+        meterRegistry.counter(REJECTIONS_METRIC, "query", queryType.getTagValue(), "reason", reason).increment();
+    }
+
+}
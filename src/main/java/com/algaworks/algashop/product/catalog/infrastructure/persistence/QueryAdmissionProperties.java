@@ -0,0 +1,45 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties("algashop.query.admission")
+@Data
+@Validated
+public class QueryAdmissionProperties {
+
+    @Positive
+    private int maxPageSize = 100;
+
+    @Positive
+    private long maxOffset = 10_000;
+
+    @NotNull
+    private Duration defaultBudget = Duration.ofSeconds(2);
+
+    @NotNull
+    private Map<QueryType, Duration> budgets = new EnumMap<>(Map.of(
+            QueryType.PRODUCT_DETAIL, Duration.ofMillis(500),
+            QueryType.PRODUCT_BATCH, Duration.ofSeconds(1),
+            QueryType.PRODUCT_FILTER, Duration.ofSeconds(2),
+            QueryType.PRODUCT_COUNT, Duration.ofSeconds(1),
+            QueryType.PRODUCT_FACETS, Duration.ofSeconds(3),
+            QueryType.PRODUCT_EXPORT, Duration.ofMinutes(5),
+            QueryType.CATEGORY_DETAIL, Duration.ofMillis(500),
+            QueryType.CATEGORY_FILTER, Duration.ofSeconds(1)
+    ));
+
+    public Duration budgetOf(QueryType queryType) {
+        return budgets.getOrDefault(queryType, defaultBudget);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum QueryType {
+    PRODUCT_DETAIL("product-detail"),
+    PRODUCT_BATCH("product-batch"),
+    PRODUCT_FILTER("product-filter"),
+    PRODUCT_COUNT("product-count"),
+    PRODUCT_FACETS("product-facets"),
+    PRODUCT_EXPORT("product-export"),
+    CATEGORY_DETAIL("category-detail"),
+    CATEGORY_FILTER("category-filter");
+
+    private final String tagValue;
+}
@@ -2,58 +2,91 @@ package com.algaworks.algashop.product.catalog.infrastructure.persistence.catego
 
 import com.algaworks.algashop.product.catalog.application.PageModel;
 import com.algaworks.algashop.product.catalog.application.ResourceNotFoundException;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 import com.algaworks.algashop.product.catalog.application.category.query.CategoryDetailOutput;
 import com.algaworks.algashop.product.catalog.application.category.query.CategoryFilter;
 import com.algaworks.algashop.product.catalog.application.category.query.CategoryQueryService;
 import com.algaworks.algashop.product.catalog.application.utility.Mapper;
 import com.algaworks.algashop.product.catalog.domain.model.category.Category;
 import com.algaworks.algashop.product.catalog.domain.model.category.CategoryNotFoundException;
-import com.algaworks.algashop.product.catalog.domain.model.category.CategoryRepository;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryAdmissionControl;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.routing.MongoReadRouter;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark.CatalogWatermarks;
 import io.micrometer.common.util.StringUtils;
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.mongodb.core.MongoOperations;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.stereotype.Service;
 
-import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import static com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryType.CATEGORY_DETAIL;
+import static com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryType.CATEGORY_FILTER;
+
 @Service
 @RequiredArgsConstructor
 public class CategoryQueryServiceImpl implements CategoryQueryService {
 
     private static final String ENABLED = "enabled";
 
-    private final MongoOperations mongoOperations;
-    private final CategoryRepository categoryRepository;
+    private final MongoReadRouter mongoReadRouter;
+    private final QueryAdmissionControl queryAdmissionControl;
     private final Mapper mapper;
+    private final CatalogWatermarks catalogWatermarks;
 
     @Override
-    @Cacheable(cacheNames = "algashop:categories:v1", key = "#categoryId")
+    @Cacheable(cacheNames = "algashop:categories:v1", key = "#categoryId", sync = true)
     public CategoryDetailOutput findById(UUID categoryId) {
-        var category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> CategoryNotFoundException.byID(categoryId));
+        Query query = queryAdmissionControl.budgeted(CATEGORY_DETAIL, new Query(Criteria.where("id").is(categoryId)));
+        Category category = queryAdmissionControl.execute(CATEGORY_DETAIL,
+                () -> mongoReadRouter.details().findOne(query, Category.class));
+        if (category == null) {
+            throw CategoryNotFoundException.byID(categoryId);
+        }
         return mapper.convert(category, CategoryDetailOutput.class);
     }
 
+    @Override
+    @Cacheable(cacheNames = "algashop:categories-version:v1", key = "#categoryId", sync = true)
+    public ResourceVersionOutput findVersion(UUID categoryId) {
+        Query query = new Query(Criteria.where("_id").is(categoryId));
+        query.fields().include("version", "updatedAt");
+        queryAdmissionControl.budgeted(CATEGORY_DETAIL, query);
+
+        Document category = queryAdmissionControl.execute(CATEGORY_DETAIL,
+                () -> mongoReadRouter.details().findOne(query, Document.class, "categories"));
+        if (category == null) {
+            throw CategoryNotFoundException.byID(categoryId);
+        }
+        return ResourceVersionOutput.builder()
+                .id(categoryId)
+                .version(Optional.ofNullable(category.get("version", Number.class)).map(Number::longValue).orElse(null))
+                .updatedAt(Optional.ofNullable(category.getDate("updatedAt"))
+                        .map(updatedAt -> updatedAt.toInstant().atOffset(ZoneOffset.UTC))
+                        .orElse(null))
+                .build();
+    }
+
     @Override
     @Cacheable(cacheNames = "algashop:categories-filter:v1",
-            key = "'default'",
+            key = "'default@' + @catalogWatermarks.versionOf('categories')",
+            sync = true,
             condition = "#filter.isCacheable()")
     public PageModel<CategoryDetailOutput> filter(CategoryFilter filter) {
-        var query = queryWith(filter);
-        long totalItems = mongoOperations.count(query, Category.class);
+        queryAdmissionControl.admit(CATEGORY_FILTER, filter);
+
+        var query = queryAdmissionControl.budgeted(CATEGORY_FILTER, queryWith(filter));
+        long totalItems = queryAdmissionControl.execute(CATEGORY_FILTER,
+                () -> mongoReadRouter.listings().count(query, Category.class));
 
         var pageRequest = PageRequest.of(filter.getPage(), filter.getSize(), sortWith(filter));
         var pagedQuery = query.with(pageRequest);
@@ -62,7 +95,8 @@ public class CategoryQueryServiceImpl implements CategoryQueryService {
         int totalPages = 0;
 
         if (totalItems > 0) {
-            categories = mongoOperations.find(pagedQuery, Category.class);
+            categories = queryAdmissionControl.execute(CATEGORY_FILTER,
+                    () -> mongoReadRouter.listings().find(pagedQuery, Category.class));
             totalPages = (int) Math.ceil((double) totalItems / pageRequest.getPageSize());
         } else {
             categories = new ArrayList<>();
@@ -82,28 +116,16 @@ public class CategoryQueryServiceImpl implements CategoryQueryService {
     }
 
     @Override
-    public OffsetDateTime lastModified() {
-        Aggregation aggregation = Aggregation.newAggregation(
-                Aggregation.group().max("updatedAt").as("lastModified")
-        );
-        AggregationResults<Document> result = mongoOperations.aggregate(aggregation,
-                "categories", Document.class);
-
-        Document document = result.getUniqueMappedResult();
-
-        if (document == null) {
-            return OffsetDateTime.now();
-        }
-
-        return document.getDate("lastModified").toInstant().atOffset(ZoneOffset.UTC);
+    public ResourceVersionOutput findListVersion() {
+        return catalogWatermarks.current(CatalogWatermarks.CATEGORIES);
     }
 
-    private Sort sortWith(CategoryFilter filter) {
+    static Sort sortWith(CategoryFilter filter) {
         return Sort.by(filter.getSortDirectionOrDefault(),
                 filter.getSortByPropertyOrDefault().getPropertyName());
     }
 
-    private Query queryWith(CategoryFilter filter) {
+    static Query queryWith(CategoryFilter filter) {
         var query = new Query();
 
         if (filter.getEnabled() != null) {
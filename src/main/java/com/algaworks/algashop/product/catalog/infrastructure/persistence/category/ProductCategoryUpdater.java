@@ -3,28 +3,45 @@ package com.algaworks.algashop.product.catalog.infrastructure.persistence.catego
 import com.algaworks.algashop.product.catalog.application.category.event.CategoryUpdatedEvent;
 import com.algaworks.algashop.product.catalog.domain.model.product.Product;
 import lombok.AllArgsConstructor;
+import org.bson.Document;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
 @Component
 @AllArgsConstructor
 public class ProductCategoryUpdater {
 
     private final MongoOperations mongoOperations;
 
-    public void copyCategoryDataToProducts(CategoryUpdatedEvent categoryUpdatedEvent) {
-        Query query = new Query(
-                Criteria.where("category._id").is(categoryUpdatedEvent.getCategoryId())
-        );
+    public List<UUID> copyCategoryDataToProducts(CategoryUpdatedEvent categoryUpdatedEvent) {
+        Query query = new Query(Criteria.where("category._id").is(categoryUpdatedEvent.getCategoryId()));
+        query.fields().include("_id");
+        List<UUID> productIds = mongoOperations.find(query, Document.class, "products").stream()
+                .map(product -> product.get("_id", UUID.class))
+                .toList();
+
+        if (productIds.isEmpty()) {
+            return productIds;
+        }
 
         Update update = new Update()
                 .set("category.name", categoryUpdatedEvent.getName())
-                .set("category.enabled", categoryUpdatedEvent.getEnabled());
+                .set("category.enabled", categoryUpdatedEvent.getEnabled())
+                .inc("version", 1)
+                .set("updatedAt", OffsetDateTime.now());
+
+        Query affectedProducts = new Query(Criteria.where("_id").in(productIds)
+                .and("category._id").is(categoryUpdatedEvent.getCategoryId()));
+        mongoOperations.updateMulti(affectedProducts, update, Product.class);
 
-        mongoOperations.updateMulti(query, update, Product.class);
+        return productIds;
     }
 
 }
@@ -1,5 +1,7 @@
 package com.algaworks.algashop.product.catalog.infrastructure.persistence.dataload;
 
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.product.ProductQueryFieldsBackfill;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark.CatalogWatermarks;
 import com.algaworks.algashop.product.catalog.infrastructure.utility.AlgaShopResourceUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +12,7 @@ import org.bson.Document;
 import org.jspecify.annotations.NonNull;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.stereotype.Component;
 
@@ -18,12 +21,15 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
+@Order(0)
 @RequiredArgsConstructor
 @Slf4j
 public class DataLoader implements ApplicationRunner {
 
     private final MongoOperations mongoOperations;
     private final DataLoadProperties properties;
+    private final ProductQueryFieldsBackfill productQueryFieldsBackfill;
+    private final CatalogWatermarks catalogWatermarks;
 
     @Override
     public void run(@NonNull ApplicationArguments args) {
@@ -37,19 +43,26 @@ public class DataLoader implements ApplicationRunner {
             return;
         }
 
-        properties.getSources().forEach(this::importJsonFileToCollection);
+        int inserted = properties.getSources().stream()
+                .mapToInt(this::importJsonFileToCollection)
+                .sum();
+        if (inserted > 0) {
+            productQueryFieldsBackfill.apply();
+            catalogWatermarks.advanceAll();
+        }
     }
 
-    private void importJsonFileToCollection(DataLoadProperties.DataLoadSource source) {
+    private int importJsonFileToCollection(DataLoadProperties.DataLoadSource source) {
         String rawJson = AlgaShopResourceUtils.readContent(source.getLocation());
         if (StringUtils.isBlank(rawJson)) {
             log.warn("Resource {} is empty or not found", source.getLocation());
-            return;
+            return 0;
         }
 
         List<Document> docs = parseJsonToDocuments(rawJson);
         int inserted = insertInto(docs, source.getCollection());
         log.info("{} - Imports: {}/{}", source.getLocation(), inserted, docs.size());
+        return inserted;
     }
 
     private List<Document> parseJsonToDocuments(String rawJson) {
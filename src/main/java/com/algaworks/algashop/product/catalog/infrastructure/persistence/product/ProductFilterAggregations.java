@@ -0,0 +1,148 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.product;
+
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFieldSet;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.product.ProductPipelineCompiler.CompiledPipeline;
+import com.algaworks.algashop.product.catalog.infrastructure.search.SearchHit;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+@Component
+@RequiredArgsConstructor
+public class ProductFilterAggregations {
+
+    public static final String TOTAL = "total";
+    public static final String METADATA = "metadata";
+    public static final String CONTENT = "content";
+    public static final String CATEGORIES = "categories";
+    public static final String BRANDS = "brands";
+    public static final String PRICE_RANGES = "priceRanges";
+    public static final String DISCOUNTED = "discounted";
+    public static final String IN_STOCK = "inStock";
+    public static final String COUNT = "count";
+    public static final String LABEL = "label";
+    public static final String OTHER_PRICE_RANGE = "other";
+
+    private static final String DISCOUNT_PERCENTAGE_ROUNDED = "discountPercentageRounded";
+    private static final String QUANTITY_IN_STOCK = "quantityInStock";
+
+    private final ProductPipelineCompiler productPipelineCompiler;
+
+    public Aggregation pageWithTotal(ProductFilter filter) {
+        return pageWithTotal(filter, Optional.empty());
+    }
+
+    public Aggregation pageWithTotal(ProductFilter filter, Optional<List<SearchHit>> searchHits) {
+        CompiledPipeline pipeline = productPipelineCompiler.compile(filter, searchHits);
+
+        List<Document> stages = sortedMatch(pipeline);
+        stages.add(new Document("$facet", new Document(METADATA, List.of(new Document("$count", TOTAL)))
+                .append(CONTENT, content(pipeline, filter.fieldSet()))));
+
+        return aggregationOf(stages);
+    }
+
+    public Aggregation facets(ProductFilter filter, Optional<List<SearchHit>> searchHits,
+                              List<BigDecimal> priceBoundaries, int facetLimit) {
+        CompiledPipeline pipeline = productPipelineCompiler.compile(filter, searchHits);
+
+        List<Document> stages = sortedMatch(pipeline);
+        stages.add(new Document("$facet", new Document(METADATA, List.of(new Document("$count", TOTAL)))
+                .append(CONTENT, content(pipeline, filter.fieldSet()))
+                .append(CATEGORIES, List.of(countBy("$categoryId", "$category.name"), sortByCountDesc(), limitTo(facetLimit)))
+                .append(BRANDS, List.of(countBy("$brand", "$brand"), sortByCountDesc(), limitTo(facetLimit)))
+                .append(PRICE_RANGES, List.of(priceBuckets(priceBoundaries)))
+                .append(DISCOUNTED, List.of(
+                        new Document("$match", new Document(DISCOUNT_PERCENTAGE_ROUNDED, new Document("$gt", 0))),
+                        new Document("$count", COUNT)))
+                .append(IN_STOCK, List.of(
+                        new Document("$match", new Document(QUANTITY_IN_STOCK, new Document("$gt", 0))),
+                        new Document("$count", COUNT)))));
+
+        return aggregationOf(stages);
+    }
+
+    public Aggregation page(ProductFilter filter, Optional<List<SearchHit>> searchHits) {
+        CompiledPipeline pipeline = productPipelineCompiler.compile(filter, searchHits);
+
+        List<Document> stages = new ArrayList<>(pipeline.match());
+        stages.addAll(pipeline.seek());
+        stages.add(pipeline.sort());
+        stages.addAll(pipeline.page());
+        stages.add(productPipelineCompiler.summaryProjection(filter.fieldSet()));
+
+        return aggregationOf(stages);
+    }
+
+    public Aggregation export(ProductFilter filter, Optional<List<SearchHit>> searchHits, AggregationOptions options) {
+        CompiledPipeline pipeline = productPipelineCompiler.compile(filter, searchHits);
+
+        List<Document> stages = sortedMatch(pipeline);
+        stages.add(productPipelineCompiler.summaryProjection(filter.fieldSet()));
+
+        return aggregationOf(stages).withOptions(options);
+    }
+
+    public Optional<Query> countQuery(ProductFilter filter, Optional<List<SearchHit>> searchHits) {
+        Document predicates = productPipelineCompiler.compile(filter, searchHits).predicates();
+        if (predicates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new BasicQuery(predicates));
+    }
+
+    private List<Document> sortedMatch(CompiledPipeline pipeline) {
+        List<Document> stages = new ArrayList<>(pipeline.match());
+        stages.add(pipeline.sort());
+        return stages;
+    }
+
+    private List<Document> content(CompiledPipeline pipeline, ProductFieldSet fields) {
+        List<Document> content = new ArrayList<>(pipeline.seek());
+        content.addAll(pipeline.page());
+        content.add(productPipelineCompiler.summaryProjection(fields));
+        return content;
+    }
+
+    private Document countBy(String groupExpression, String labelExpression) {
+        return new Document("$group", new Document("_id", groupExpression)
+                .append(LABEL, new Document("$first", labelExpression))
+                .append(COUNT, new Document("$sum", 1)));
+    }
+
+    private Document sortByCountDesc() {
+        return new Document("$sort", new Document(COUNT, -1).append("_id", 1));
+    }
+
+    private Document limitTo(int limit) {
+        return new Document("$limit", limit);
+    }
+
+    private Document priceBuckets(List<BigDecimal> boundaries) {
+        return new Document("$bucket", new Document("groupBy", "$salePrice")
+                .append("boundaries", boundaries.stream().map(Decimal128::new).toList())
+                .append("default", OTHER_PRICE_RANGE)
+                .append("output", new Document(COUNT, new Document("$sum", 1))));
+    }
+
+    private Aggregation aggregationOf(List<Document> stages) {
+        return newAggregation(stages.stream()
+                .map(stage -> (AggregationOperation) context -> stage)
+                .toList());
+    }
+
+}
@@ -0,0 +1,316 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.product;
+
+import com.algaworks.algashop.product.catalog.application.InvalidFilterException;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductCursor;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFieldSet;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
+import com.algaworks.algashop.product.catalog.infrastructure.search.SearchHit;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class ProductPipelineCompiler {
+
+    private static final String ID = "_id";
+    private static final String SCORE = "score";
+    private static final String DISCOUNT_PERCENTAGE_ROUNDED = "discountPercentageRounded";
+    private static final String QUANTITY_IN_STOCK = "quantityInStock";
+    private static final int SHORT_DESCRIPTION_LENGTH = 50;
+
+    private static final Map<String, Object> SUMMARY_PROJECTION_FIELDS = summaryProjectionFields();
+    private static final Set<String> ALWAYS_PROJECTED = Set.of(ID, "addedAt", "salePrice");
+
+    private final MongoConverter mongoConverter;
+    private final Map<Shape, Template> templates = new ConcurrentHashMap<>();
+    private final Map<ProductFieldSet, Document> projections = new ConcurrentHashMap<>();
+
+    public CompiledPipeline compile(ProductFilter filter, Optional<List<SearchHit>> searchHits) {
+        Optional<ProductCursor> cursor = cursorOf(filter);
+        Shape shape = Shape.of(filter, searchHits.isPresent(), cursor.isPresent());
+        Template template = templates.computeIfAbsent(shape, this::render);
+        return template.bind(parametersOf(filter, searchHits, cursor));
+    }
+
+    public Document summaryProjection(ProductFieldSet fields) {
+        return projections.computeIfAbsent(fields, this::renderProjection);
+    }
+
+    int compiledShapes() {
+        return templates.size();
+    }
+
+    private Template render(Shape shape) {
+        Document predicates = new Document();
+
+        switch (shape.searchMode()) {
+            case TEXT -> predicates.append("$text", new Document("$search", Parameter.TERM));
+            case INDEX -> predicates.append(ID, new Document("$in", Parameter.SEARCH_IDS));
+            case NONE -> {
+            }
+        }
+
+        if (shape.enabled()) {
+            predicates.append("enabled", Parameter.ENABLED);
+        }
+
+        Document addedAt = range(shape.addedAtFrom(), Parameter.ADDED_AT_FROM, shape.addedAtTo(), Parameter.ADDED_AT_TO);
+        if (!addedAt.isEmpty()) {
+            predicates.append("addedAt", addedAt);
+        }
+
+        Document salePrice = range(shape.priceFrom(), Parameter.PRICE_FROM, shape.priceTo(), Parameter.PRICE_TO);
+        if (!salePrice.isEmpty()) {
+            predicates.append("salePrice", salePrice);
+        }
+
+        if (shape.hasDiscount() != null) {
+            predicates.append(DISCOUNT_PERCENTAGE_ROUNDED, shape.hasDiscount() ? new Document("$gt", 0) : 0);
+        }
+
+        if (shape.inStock() != null) {
+            predicates.append(QUANTITY_IN_STOCK, shape.inStock() ? new Document("$gt", 0) : 0);
+        }
+
+        if (shape.categories()) {
+            predicates.append("categoryId", new Document("$in", Parameter.CATEGORIES));
+        }
+
+        List<Document> match = new ArrayList<>();
+        if (!predicates.isEmpty()) {
+            match.add(new Document("$match", predicates));
+        }
+
+        switch (shape.searchMode()) {
+            case TEXT -> match.add(new Document("$addFields",
+                    new Document(SCORE, new Document("$meta", "textScore"))));
+            case INDEX -> match.add(new Document("$addFields", new Document(SCORE, new Document("$arrayElemAt", List.of(
+                    Parameter.SEARCH_SCORES,
+                    new Document("$indexOfArray", List.of(Parameter.SEARCH_IDS, "$" + ID))
+            )))));
+            case NONE -> {
+            }
+        }
+
+        List<Document> seek = shape.cursor() ? List.of(new Document("$match", seek(shape))) : List.of();
+
+        List<Document> page = new ArrayList<>();
+        if (!shape.cursor()) {
+            page.add(new Document("$skip", Parameter.SKIP));
+        }
+        page.add(new Document("$limit", Parameter.LIMIT));
+
+        return new Template(predicates, List.copyOf(match), seek, new Document("$sort", sort(shape)), List.copyOf(page));
+    }
+
+    private Document renderProjection(ProductFieldSet fields) {
+        Document projection = new Document();
+        SUMMARY_PROJECTION_FIELDS.forEach((field, definition) -> {
+            String outputField = "name".equals(field) ? "slug" : null;
+            if (ALWAYS_PROJECTED.contains(field) || fields.includes(field)
+                    || (outputField != null && fields.includes(outputField))) {
+                projection.append(field, definition);
+            }
+        });
+        return new Document("$project", projection);
+    }
+
+    private static Map<String, Object> summaryProjectionFields() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(ID, 1);
+        fields.put("addedAt", 1);
+        fields.put("name", 1);
+        fields.put("brand", 1);
+        fields.put("regularPrice", 1);
+        fields.put("salePrice", 1);
+        fields.put("enabled", 1);
+        fields.put("category", 1);
+        fields.put(QUANTITY_IN_STOCK, 1);
+        fields.put(DISCOUNT_PERCENTAGE_ROUNDED, 1);
+        fields.put(SCORE, 1);
+        fields.put("mainImage", 1);
+        fields.put("hasDiscount", new Document("$gt", List.of("$" + DISCOUNT_PERCENTAGE_ROUNDED, 0)));
+        fields.put("inStock", new Document("$gt", List.of("$" + QUANTITY_IN_STOCK, 0)));
+        fields.put("shortDescription", new Document("$substrCP",
+                List.of(new Document("$ifNull", List.of("$description", "")), 0, SHORT_DESCRIPTION_LENGTH)));
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private Document range(boolean hasFrom, Parameter from, boolean hasTo, Parameter to) {
+        Document range = new Document();
+        if (hasFrom) {
+            range.append("$gte", from);
+        }
+        if (hasTo) {
+            range.append("$lte", to);
+        }
+        return range;
+    }
+
+    private Document seek(Shape shape) {
+        String property = shape.sortType().getPropertyName();
+        String operator = shape.direction().isAscending() ? "$gt" : "$lt";
+
+        return new Document("$or", List.of(
+                new Document(property, new Document(operator, Parameter.CURSOR_VALUE)),
+                new Document(property, Parameter.CURSOR_VALUE)
+                        .append(ID, new Document(operator, Parameter.CURSOR_ID))
+        ));
+    }
+
+    private Document sort(Shape shape) {
+        if (shape.searchMode() != SearchMode.NONE) {
+            return new Document(SCORE, -1).append(ID, 1);
+        }
+        int direction = shape.direction().isAscending() ? 1 : -1;
+        return new Document(shape.sortType().getPropertyName(), direction).append(ID, direction);
+    }
+
+    private Map<Parameter, Object> parametersOf(ProductFilter filter, Optional<List<SearchHit>> searchHits,
+                                                Optional<ProductCursor> cursor) {
+        Map<Parameter, Object> parameters = new EnumMap<>(Parameter.class);
+
+        parameters.put(Parameter.TERM, filter.getTerm());
+        searchHits.ifPresent(hits -> {
+            parameters.put(Parameter.SEARCH_IDS, hits.stream().map(SearchHit::productId).toList());
+            parameters.put(Parameter.SEARCH_SCORES, hits.stream().map(hit -> (double) hit.score()).toList());
+        });
+        parameters.put(Parameter.ENABLED, filter.getEnabled());
+        parameters.put(Parameter.ADDED_AT_FROM, toMongoType(filter.getAddedAtFrom()));
+        parameters.put(Parameter.ADDED_AT_TO, toMongoType(filter.getAddedAtTo()));
+        parameters.put(Parameter.PRICE_FROM, toMongoType(filter.getPriceFrom()));
+        parameters.put(Parameter.PRICE_TO, toMongoType(filter.getPriceTo()));
+        if (filter.getCategoriesId() != null) {
+            parameters.put(Parameter.CATEGORIES, Arrays.stream(filter.getCategoriesId())
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList());
+        }
+        cursor.ifPresent(c -> {
+            parameters.put(Parameter.CURSOR_VALUE, toMongoType(c.getValue()));
+            parameters.put(Parameter.CURSOR_ID, c.getProductId());
+        });
+        parameters.put(Parameter.SKIP, PageRequest.of(filter.getPage(), filter.getSize()).getOffset());
+        parameters.put(Parameter.LIMIT, StringUtils.isBlank(filter.getTerm())
+                ? filter.getSize() + 1
+                : filter.getSize());
+
+        return parameters;
+    }
+
+    private Object toMongoType(Object value) {
+        return value == null ? null : mongoConverter.convertToMongoType(value);
+    }
+
+    private Optional<ProductCursor> cursorOf(ProductFilter filter) {
+        if (!filter.hasCursor()) {
+            return Optional.empty();
+        }
+
+        if (StringUtils.isNotBlank(filter.getTerm())) {
+            throw new InvalidFilterException("Cursor pagination is not supported for term searches");
+        }
+
+        ProductCursor cursor = ProductCursor.decode(filter.getCursor());
+        if (!cursor.matches(filter)) {
+            throw new InvalidFilterException("Cursor does not match the requested sort");
+        }
+        return Optional.of(cursor);
+    }
+
+    private static Object bind(Object node, Map<Parameter, Object> parameters) {
+        if (node instanceof Parameter parameter) {
+            return parameters.get(parameter);
+        }
+
+        if (node instanceof Document document) {
+            Document bound = null;
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                Object value = bind(entry.getValue(), parameters);
+                if (bound == null && value != entry.getValue()) {
+                    bound = new Document(document);
+                }
+                if (bound != null) {
+                    bound.put(entry.getKey(), value);
+                }
+            }
+            return bound == null ? document : bound;
+        }
+
+        if (node instanceof List<?> list) {
+            List<Object> bound = null;
+            for (int i = 0; i < list.size(); i++) {
+                Object value = bind(list.get(i), parameters);
+                if (bound == null && value != list.get(i)) {
+                    bound = new ArrayList<>(list);
+                }
+                if (bound != null) {
+                    bound.set(i, value);
+                }
+            }
+            return bound == null ? list : bound;
+        }
+
+        return node;
+    }
+
+    public record CompiledPipeline(Document predicates, List<Document> match, List<Document> seek, Document sort,
+                                   List<Document> page) {
+    }
+
+    private enum SearchMode {
+        NONE, TEXT, INDEX
+    }
+
+    private enum Parameter {
+        TERM, SEARCH_IDS, SEARCH_SCORES, ENABLED, ADDED_AT_FROM, ADDED_AT_TO, PRICE_FROM, PRICE_TO,
+        CATEGORIES, CURSOR_VALUE, CURSOR_ID, SKIP, LIMIT
+    }
+
+    private record Shape(SearchMode searchMode, boolean enabled, Boolean hasDiscount, Boolean inStock,
+                         boolean addedAtFrom, boolean addedAtTo, boolean priceFrom, boolean priceTo,
+                         boolean categories, boolean cursor,
+                         ProductFilter.SortType sortType, Sort.Direction direction) {
+
+        static Shape of(ProductFilter filter, boolean indexSearch, boolean cursor) {
+            boolean term = StringUtils.isNotBlank(filter.getTerm());
+            SearchMode searchMode = !term ? SearchMode.NONE : indexSearch ? SearchMode.INDEX : SearchMode.TEXT;
+
+            return new Shape(searchMode,
+                    filter.getEnabled() != null,
+                    filter.getHasDiscount(),
+                    filter.getInStock(),
+                    filter.getAddedAtFrom() != null,
+                    filter.getAddedAtTo() != null,
+                    filter.getPriceFrom() != null,
+                    filter.getPriceTo() != null,
+                    filter.getCategoriesId() != null && filter.getCategoriesId().length > 0,
+                    cursor,
+                    term ? null : filter.getSortByPropertyOrDefault(),
+                    term ? null : filter.getSortDirectionOrDefault());
+        }
+    }
+
+    private record Template(Document predicates, List<Document> match, List<Document> seek, Document sort,
+                            List<Document> page) {
+
+        @SuppressWarnings("unchecked")
+        CompiledPipeline bind(Map<Parameter, Object> parameters) {
+            return new CompiledPipeline(
+                    (Document) ProductPipelineCompiler.bind(predicates, parameters),
+                    (List<Document>) ProductPipelineCompiler.bind(match, parameters),
+                    (List<Document>) ProductPipelineCompiler.bind(seek, parameters),
+                    sort,
+                    (List<Document>) ProductPipelineCompiler.bind(page, parameters));
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.product;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+@Component
+@Order(10)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductQueryFieldsBackfill implements ApplicationRunner {
+
+    private static final String MIGRATION_ID = "product-query-fields-v1";
+    private static final String MIGRATIONS_COLLECTION = "schema_migrations";
+    private static final String PRODUCTS_COLLECTION = "products";
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public void run(@NonNull ApplicationArguments args) {
+        Query marker = new Query(Criteria.where("_id").is(MIGRATION_ID));
+        if (mongoOperations.exists(marker, MIGRATIONS_COLLECTION)) {
+            return;
+        }
+
+        apply();
+
+        try {
+            mongoOperations.upsert(marker, new Update().setOnInsert("appliedAt", new Date()), MIGRATIONS_COLLECTION);
+        } catch (DuplicateKeyException e) {
+            log.info("{} - already recorded by another instance", MIGRATION_ID);
+        }
+    }
+
+    public void apply() {
+        var products = mongoOperations.getCollection(PRODUCTS_COLLECTION);
+
+        long categoryIds = products.updateMany(
+                new Document("categoryId", new Document("$exists", false))
+                        .append("category._id", new Document("$exists", true)),
+                List.of(new Document("$set", new Document("categoryId", "$category._id")))
+        ).getModifiedCount();
+
+        long discounts = products.updateMany(
+                new Document("discountPercentageRounded", new Document("$exists", false))
+                        .append("salePrice", new Document("$type", "number"))
+                        .append("regularPrice", new Document("$type", "number")),
+                List.of(new Document("$set", new Document("discountPercentageRounded", discountExpression())))
+        ).getModifiedCount();
+
+        long quantities = products.updateMany(
+                new Document("quantityInStock", new Document("$exists", false)),
+                new Document("$set", new Document("quantityInStock", 0))
+        ).getModifiedCount();
+
+        log.info("{} - categoryId: {}, discountPercentageRounded: {}, quantityInStock: {}",
+                MIGRATION_ID, categoryIds, discounts, quantities);
+    }
+
+    static Document discountExpression() {
+        var ratio = new Document("$divide", List.of(
+                new Document("$toDecimal", "$salePrice"), new Document("$toDecimal", "$regularPrice")));
+        var ratioRounded = new Document("$divide", List.of(
+                halfUp(new Document("$multiply", List.of(ratio, 10_000))), 10_000));
+        var percentage = new Document("$multiply", List.of(
+                new Document("$subtract", List.of(1, ratioRounded)), 100));
+        return new Document("$cond", List.of(
+                new Document("$gt", List.of("$regularPrice", 0)),
+                new Document("$toInt", halfUp(percentage)),
+                0
+        ));
+    }
+
+    private static Document halfUp(Document expression) {
+        var half = new Document("$cond", List.of(new Document("$lt", List.of(expression, 0)), new Decimal128(HALF.negate()), new Decimal128(HALF)));
+        return new Document("$trunc", new Document("$add", List.of(expression, half)));
+    }
+
+}
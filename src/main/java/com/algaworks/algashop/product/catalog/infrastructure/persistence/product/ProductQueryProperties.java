@@ -0,0 +1,37 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.product;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+@ConfigurationProperties("algashop.query.products")
+@Data
+@Validated
+public class ProductQueryProperties {
+
+    @Positive
+    private int approximateCountCap = 10_000;
+
+    @Positive
+    private int facetLimit = 20;
+
+    @Positive
+    private int exportBatchSize = 500;
+
+    @Positive
+    private int maxBatchIds = 100;
+
+    @NotEmpty
+    private List<BigDecimal> priceFacetBoundaries = Stream.of("0", "50", "100", "250", "500", "1000", "2500", "5000")
+            .map(BigDecimal::new)
+            .toList();
+
+}
@@ -1,193 +1,439 @@
 package com.algaworks.algashop.product.catalog.infrastructure.persistence.product;
 
+import com.algaworks.algashop.product.catalog.application.InvalidFilterException;
 import com.algaworks.algashop.product.catalog.application.PageModel;
-import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
-import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
-import com.algaworks.algashop.product.catalog.application.product.query.ProductQueryService;
-import com.algaworks.algashop.product.catalog.application.product.query.ProductSummaryOutput;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.*;
 import com.algaworks.algashop.product.catalog.application.utility.Mapper;
-import com.algaworks.algashop.product.catalog.domain.model.product.ProductRepository;
 import com.algaworks.algashop.product.catalog.domain.model.product.Product;
 import com.algaworks.algashop.product.catalog.domain.model.product.ProductNotFoundException;
+import com.algaworks.algashop.product.catalog.infrastructure.cache.ProductDetailBatchCache;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryAdmissionControl;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.routing.MongoReadRouter;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark.CatalogWatermarks;
+import com.algaworks.algashop.product.catalog.infrastructure.search.ProductSearchIndex;
+import com.algaworks.algashop.product.catalog.infrastructure.search.ProductSearchProperties;
+import com.algaworks.algashop.product.catalog.infrastructure.search.ProductSuggestionIndex;
+import com.algaworks.algashop.product.catalog.infrastructure.search.SearchHit;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.mongodb.core.MongoOperations;
-import org.springframework.data.mongodb.core.aggregation.*;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.CriteriaDefinition;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
-import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
-import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
-import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
-import static org.springframework.data.mongodb.core.aggregation.Aggregation.skip;
-import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryType.*;
+import static com.algaworks.algashop.product.catalog.infrastructure.persistence.product.ProductFilterAggregations.*;
 
 @Service
 @RequiredArgsConstructor
 public class ProductQueryServiceImpl implements ProductQueryService {
 
-    private final MongoOperations mongoOperations;
-    private final ProductRepository productRepository;
+    private static final String[] DETAIL_ALWAYS_PROJECTED = {"id", "version", "updatedAt"};
+
+    private static final Map<String, String> DETAIL_PROJECTION = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("addedAt", "addedAt"),
+            Map.entry("name", "name"),
+            Map.entry("slug", "name"),
+            Map.entry("brand", "brand"),
+            Map.entry("regularPrice", "regularPrice"),
+            Map.entry("salePrice", "salePrice"),
+            Map.entry("inStock", "quantityInStock"),
+            Map.entry("enabled", "enabled"),
+            Map.entry("category", "category"),
+            Map.entry("description", "description"),
+            Map.entry("hasDiscount", "discountPercentageRounded"),
+            Map.entry("quantityInStock", "quantityInStock"),
+            Map.entry("discountPercentageRounded", "discountPercentageRounded"),
+            Map.entry("version", "version"),
+            Map.entry("updatedAt", "updatedAt"),
+            Map.entry("mainImage", "mainImage")
+    );
+
+    private final MongoReadRouter mongoReadRouter;
+    private final QueryAdmissionControl queryAdmissionControl;
     private final Mapper mapper;
+    private final ProductQueryProperties productQueryProperties;
+    private final ProductFilterAggregations productFilterAggregations;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSearchProperties productSearchProperties;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final ObjectProvider<ProductDetailBatchCache> productDetailBatchCache;
+    private final CatalogWatermarks catalogWatermarks;
 
     @Override
-    @Cacheable(cacheNames = "algashop:products:v1", key = "#productId")
+    @Cacheable(cacheNames = "algashop:products:v1", key = "#productId", sync = true)
     public ProductDetailOutput findById(UUID productId) {
-        var product = productRepository.findById(productId).orElseThrow(() -> new ProductNotFoundException(productId));
+        Query query = queryAdmissionControl.budgeted(PRODUCT_DETAIL, new Query(Criteria.where("id").is(productId)));
+        Product product = queryAdmissionControl.execute(PRODUCT_DETAIL,
+                () -> mongoReadRouter.details().findOne(query, Product.class));
+        if (product == null) {
+            throw new ProductNotFoundException(productId);
+        }
         return mapper.convert(product, ProductDetailOutput.class);
     }
 
     @Override
+    public List<ProductDetailOutput> findAllById(List<UUID> productIds) {
+        List<UUID> requestedIds = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (requestedIds.size() > productQueryProperties.getMaxBatchIds()) {
+            throw new InvalidFilterException(String.format("At most %d product ids can be requested at once",
+                    productQueryProperties.getMaxBatchIds()));
+        }
+
+        Optional<ProductDetailBatchCache> cache = Optional.ofNullable(productDetailBatchCache.getIfAvailable());
+        Map<UUID, ProductDetailOutput> products = new HashMap<>(
+                cache.map(c -> c.getAll(requestedIds)).orElse(Map.of()));
+
+        List<UUID> misses = requestedIds.stream()
+                .filter(productId -> !products.containsKey(productId))
+                .toList();
+
+        if (!misses.isEmpty()) {
+            Query query = queryAdmissionControl.budgeted(PRODUCT_BATCH, new Query(Criteria.where("id").in(misses)));
+            List<ProductDetailOutput> loaded = queryAdmissionControl.execute(PRODUCT_BATCH,
+                            () -> mongoReadRouter.details().find(query, Product.class)).stream()
+                    .map(product -> mapper.convert(product, ProductDetailOutput.class))
+                    .toList();
+            loaded.forEach(product -> products.put(product.getId(), product));
+            cache.ifPresent(c -> c.putAll(loaded));
+        }
+
+        return requestedIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Cacheable(cacheNames = "algashop:products-fields:v1", key = "#productId + ':' + #fields.cacheKey()")
+    public ProductDetailOutput findById(UUID productId, ProductFieldSet fields) {
+        Query query = new Query(Criteria.where("id").is(productId));
+        query.fields().include(DETAIL_ALWAYS_PROJECTED);
+        fields.getNames().stream()
+                .map(DETAIL_PROJECTION::get)
+                .forEach(query.fields()::include);
+        queryAdmissionControl.budgeted(PRODUCT_DETAIL, query);
+
+        Product product = queryAdmissionControl.execute(PRODUCT_DETAIL,
+                () -> mongoReadRouter.details().findOne(query, Product.class));
+        if (product == null) {
+            throw new ProductNotFoundException(productId);
+        }
+        return mapper.convert(product, ProductDetailOutput.class);
+    }
+
+    @Override
+    @Cacheable(cacheNames = "algashop:products-version:v1", key = "#productId", sync = true)
+    public ResourceVersionOutput findVersion(UUID productId) {
+        Query query = new Query(Criteria.where("_id").is(productId));
+        query.fields().include("version", "updatedAt");
+        queryAdmissionControl.budgeted(PRODUCT_DETAIL, query);
+
+        Document product = queryAdmissionControl.execute(PRODUCT_DETAIL,
+                () -> mongoReadRouter.details().findOne(query, Document.class, "products"));
+        if (product == null) {
+            throw new ProductNotFoundException(productId);
+        }
+        return ResourceVersionOutput.builder()
+                .id(productId)
+                .version(Optional.ofNullable(product.get("version", Number.class)).map(Number::longValue).orElse(null))
+                .updatedAt(Optional.ofNullable(product.getDate("updatedAt"))
+                        .map(updatedAt -> updatedAt.toInstant().atOffset(ZoneOffset.UTC))
+                        .orElse(null))
+                .build();
+    }
+
+    @Override
+    public List<ImageOutput> findImages(UUID productId) {
+        Query query = new Query(Criteria.where("id").is(productId));
+        query.fields().include("images");
+        queryAdmissionControl.budgeted(PRODUCT_DETAIL, query);
+
+        Product product = queryAdmissionControl.execute(PRODUCT_DETAIL,
+                () -> mongoReadRouter.details().findOne(query, Product.class));
+        if (product == null) {
+            throw new ProductNotFoundException(productId);
+        }
+        return product.getImages().stream()
+                .map(image -> mapper.convert(image, ImageOutput.class))
+                .toList();
+    }
+
+    @Override
+    @Cacheable(cacheNames = "algashop:products-filter:v1", keyGenerator = "productFilterCacheKeyGenerator",
+            condition = "@productFilterCacheKeyGenerator.isVersioned(#filter)")
     public PageModel<ProductSummaryOutput> filter(ProductFilter filter) {
-        Optional<Criteria> criteria = buildCriteria(filter);
-        Optional<TextCriteria> textCriteria = buildTextCriteria(filter);
+        queryAdmissionControl.admit(PRODUCT_FILTER, filter, filter.hasCursor());
 
-        var query = new Query();
-        textCriteria.ifPresent(query::addCriteria);
-        criteria.ifPresent(query::addCriteria);
+        Optional<List<SearchHit>> searchHits = searchHits(filter);
+        if (searchHits.isPresent() && searchHits.get().isEmpty()) {
+            return emptyPage();
+        }
+
+        if (Boolean.TRUE.equals(filter.getApproximateTotals()) || filter.hasCursor()) {
+            return filterWithCountQuery(filter, searchHits);
+        }
 
-        long totalElements = mongoOperations.count(query, Product.class);
+        Aggregation aggregation = queryAdmissionControl.budgeted(PRODUCT_FILTER,
+                productFilterAggregations.pageWithTotal(filter, searchHits));
+        Document result = queryAdmissionControl.execute(PRODUCT_FILTER, () -> mongoReadRouter.listings()
+                .aggregate(aggregation, Product.class, Document.class)
+                .getUniqueMappedResult());
 
+        long totalElements = totalOf(result);
         if (totalElements == 0L) {
-            return PageModel.<ProductSummaryOutput>builder()
-                    .number(0)
-                    .size(0)
-                    .totalPages(0)
-                    .totalElements(0)
-                    .build();
+            return emptyPage();
         }
 
-        List<AggregationOperation> operations = new ArrayList<>();
+        List<ProductSummaryOutput> productSummaryOutputs = readContent(result);
 
-        textCriteria.ifPresent(c -> {
-            operations.add(match(c));
-            AggregationOperation addTextScoreField = context ->
-                    new Document("$addFields", new Document("score", new Document("$meta", "textScore")));
-            operations.add(addTextScoreField);
-        });
-        criteria.ifPresent(c -> operations.add(match(c)));
+        return pageOf(productSummaryOutputs, filter, totalElements, true);
+    }
 
-        PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
+    @Override
+    public ResourceVersionOutput findListVersion(ProductFilter filter) {
+        return catalogWatermarks.current(CatalogWatermarks.productListingScopes(filter.getCategoriesId()));
+    }
 
-        operations.addAll(Arrays.asList(
-                sort(sortWith(filter)),
-                projectionForSummary(),
-                skip(pageRequest.getOffset()),
-                limit(filter.getSize())
-        ));
+    @Override
+    @Cacheable(cacheNames = "algashop:products-facets:v1", keyGenerator = "productFilterCacheKeyGenerator",
+            condition = "@productFilterCacheKeyGenerator.isVersioned(#filter)")
+    public ProductFacetsOutput facets(ProductFilter filter) {
+        queryAdmissionControl.admit(PRODUCT_FACETS, filter, filter.hasCursor());
 
-        Aggregation aggregation = newAggregation(operations);
+        Optional<List<SearchHit>> searchHits = searchHits(filter);
+        if (searchHits.isPresent() && searchHits.get().isEmpty()) {
+            return ProductFacetsOutput.builder().page(emptyPage()).build();
+        }
 
-        List<ProductSummaryOutput> productSummaryOutputs = mongoOperations
-                .aggregate(aggregation, Product.class, ProductSummaryOutput.class)
-                .getMappedResults();
+        Aggregation aggregation = queryAdmissionControl.budgeted(PRODUCT_FACETS,
+                productFilterAggregations.facets(filter, searchHits,
+                        productQueryProperties.getPriceFacetBoundaries(),
+                        productQueryProperties.getFacetLimit()));
+        Document result = queryAdmissionControl.execute(PRODUCT_FACETS, () -> mongoReadRouter.listings()
+                .aggregate(aggregation, Product.class, Document.class)
+                .getUniqueMappedResult());
 
-        return PageModel.<ProductSummaryOutput>builder()
-                .content(productSummaryOutputs)
-                .number(filter.getPage())
-                .size(filter.getSize())
-                .totalElements(10)
-                .totalPages(10)
+        long totalElements = totalOf(result);
+        if (totalElements == 0L) {
+            return ProductFacetsOutput.builder().page(emptyPage()).build();
+        }
+
+        List<ProductSummaryOutput> productSummaryOutputs = readContent(result);
+
+        return ProductFacetsOutput.builder()
+                .page(pageOf(productSummaryOutputs, filter, totalElements, true))
+                .categories(facetCounts(result.getList(CATEGORIES, Document.class)))
+                .brands(facetCounts(result.getList(BRANDS, Document.class)))
+                .priceRanges(priceRanges(result.getList(PRICE_RANGES, Document.class)))
+                .discounted(singleCount(result.getList(DISCOUNTED, Document.class)))
+                .inStock(singleCount(result.getList(IN_STOCK, Document.class)))
                 .build();
     }
 
-    private ProjectionOperation projectionForSummary() {
-        return project(ProductSummaryOutput.class)
-                .andExpression("salePrice < regularPrice").as("hasDiscount")
-                .andExpression("quantityInStock > 0").as("inStock")
-                .and(StringOperators.Substr.valueOf("description")
-                        .substring(0, 50)).as("shortDescription");
+    @Override
+    public void export(ProductFilter filter, Consumer<ProductSummaryOutput> consumer) {
+        Optional<List<SearchHit>> searchHits = searchHits(filter);
+        if (searchHits.isPresent() && searchHits.get().isEmpty()) {
+            return;
+        }
+
+        Aggregation aggregation = productFilterAggregations.export(filter, searchHits,
+                queryAdmissionControl.options(PRODUCT_EXPORT)
+                        .cursorBatchSize(productQueryProperties.getExportBatchSize())
+                        .build());
+
+        queryAdmissionControl.run(PRODUCT_EXPORT, () -> {
+            try (Stream<ProductSummaryOutput> products =
+                         mongoReadRouter.listings().aggregateStream(aggregation, Product.class, ProductSummaryOutput.class)) {
+                products.forEach(consumer);
+            }
+        });
     }
 
-    private Optional<Criteria> buildCriteria(ProductFilter filter) {
-        List<CriteriaDefinition> criterias = new ArrayList<>(8);
+    @Override
+    public List<ProductSuggestionOutput> suggest(String query, int limit) {
+        if (!productSearchProperties.isEnabled() || !productSuggestionIndex.isReady()) {
+            return List.of();
+        }
 
-        if (filter.getEnabled() != null) {
-            criterias.add(Criteria.where("enabled").is(filter.getEnabled()));
+        int boundedLimit = Math.clamp(limit, 1, productSearchProperties.getMaxSuggestions());
+        return productSuggestionIndex.suggest(query, boundedLimit).stream()
+                .map(suggestion -> ProductSuggestionOutput.builder()
+                        .id(suggestion.productId())
+                        .name(suggestion.name())
+                        .build())
+                .toList();
+    }
+
+    private Optional<List<SearchHit>> searchHits(ProductFilter filter) {
+        if (StringUtils.isBlank(filter.getTerm())
+                || !productSearchProperties.isEnabled()
+                || !productSearchIndex.isReady()) {
+            return Optional.empty();
         }
+        return Optional.of(productSearchIndex.search(filter.getTerm(), productSearchProperties.getMaxCandidates()));
+    }
 
-        if (filter.getAddedAtFrom() != null && filter.getAddedAtTo() != null) {
-            criterias.add(Criteria.where("addedAt")
-                    .gte(filter.getAddedAtFrom())
-                    .lte(filter.getAddedAtTo())
-            );
+    private PageModel<ProductSummaryOutput> filterWithCountQuery(ProductFilter filter,
+                                                                 Optional<List<SearchHit>> searchHits) {
+        long totalElements;
+        boolean exact;
+
+        Optional<Query> countQuery =
+                productFilterAggregations.countQuery(filter, searchHits);
+
+        if (countQuery.isEmpty()) {
+            totalElements = mongoReadRouter.listings().estimatedCount(Product.class);
+            exact = false;
         } else {
-            if (filter.getAddedAtFrom() != null) {
-                criterias.add(Criteria.where("addedAt").gte(filter.getAddedAtFrom()));
-            } else if (filter.getAddedAtTo() != null) {
-                criterias.add(Criteria.where("addedAt").lte(filter.getAddedAtTo()));
-            }
+            int cap = productQueryProperties.getApproximateCountCap();
+            Query query = queryAdmissionControl.budgeted(PRODUCT_COUNT, countQuery.get().limit(cap));
+            totalElements = queryAdmissionControl.execute(PRODUCT_COUNT,
+                    () -> mongoReadRouter.listings().count(query, Product.class));
+            exact = totalElements < cap;
         }
 
-        if (filter.getPriceFrom() != null && filter.getPriceTo() != null ) {
-            criterias.add(Criteria.where("salePrice")
-                    .gte(filter.getPriceFrom())
-                    .lte(filter.getPriceTo())
-            );
-        } else {
-            if (filter.getPriceFrom() != null) {
-                criterias.add(Criteria.where("salePrice").gte(filter.getPriceFrom()));
-            } else if (filter.getPriceTo() != null) {
-                criterias.add(Criteria.where("salePrice").lte(filter.getPriceTo()));
-            }
+        if (totalElements == 0L) {
+            return emptyPage();
         }
 
-        if (filter.getHasDiscount() != null) {
-            if (filter.getHasDiscount()) {
-                criterias.add(AggregationExpressionCriteria.whereExpr(
-                        ComparisonOperators.valueOf("$salePrice")
-                                .lessThan("$regularPrice")
-                ));
-            } else {
-                criterias.add(AggregationExpressionCriteria.whereExpr(
-                        ComparisonOperators.valueOf("$salePrice")
-                                .equalTo("$regularPrice")
-                ));
+        Aggregation aggregation = queryAdmissionControl.budgeted(PRODUCT_FILTER,
+                productFilterAggregations.page(filter, searchHits));
+        List<ProductSummaryOutput> productSummaryOutputs = queryAdmissionControl.execute(PRODUCT_FILTER,
+                () -> mongoReadRouter.listings()
+                        .aggregate(aggregation, Product.class, ProductSummaryOutput.class)
+                        .getMappedResults());
+
+        return pageOf(productSummaryOutputs, filter, totalElements, exact);
+    }
+
+    private List<ProductSummaryOutput> readContent(Document result) {
+        return result.getList(CONTENT, Document.class).stream()
+                .map(document -> mongoReadRouter.listings().getConverter().read(ProductSummaryOutput.class, document))
+                .toList();
+    }
+
+    private List<FacetCountOutput> facetCounts(List<Document> buckets) {
+        return buckets.stream()
+                .filter(bucket -> bucket.get("_id") != null)
+                .map(bucket -> FacetCountOutput.builder()
+                        .value(String.valueOf(bucket.get("_id")))
+                        .label(bucket.getString(LABEL))
+                        .count(((Number) bucket.get(COUNT)).longValue())
+                        .build())
+                .toList();
+    }
+
+    private List<PriceRangeFacetOutput> priceRanges(List<Document> buckets) {
+        List<BigDecimal> boundaries = productQueryProperties.getPriceFacetBoundaries();
+        List<PriceRangeFacetOutput> priceRanges = new ArrayList<>();
+
+        for (Document bucket : buckets) {
+            long count = ((Number) bucket.get(COUNT)).longValue();
+            Object lowerBound = bucket.get("_id");
+
+            if (OTHER_PRICE_RANGE.equals(lowerBound)) {
+                priceRanges.add(PriceRangeFacetOutput.builder()
+                        .from(boundaries.getLast())
+                        .count(count)
+                        .build());
+                continue;
             }
+
+            BigDecimal from = toBigDecimal(lowerBound);
+            int index = indexOfBoundary(boundaries, from);
+            priceRanges.add(PriceRangeFacetOutput.builder()
+                    .from(from)
+                    .to(index >= 0 && index + 1 < boundaries.size() ? boundaries.get(index + 1) : null)
+                    .count(count)
+                    .build());
         }
 
-        if (filter.getInStock() != null) {
-            if (filter.getInStock()) {
-                criterias.add(Criteria.where("quantityInStock").gt(0));
-            } else {
-                criterias.add(Criteria.where("quantityInStock").is(0));
+        return priceRanges;
+    }
+
+    private int indexOfBoundary(List<BigDecimal> boundaries, BigDecimal value) {
+        for (int i = 0; i < boundaries.size(); i++) {
+            if (boundaries.get(i).compareTo(value) == 0) {
+                return i;
             }
         }
+        return -1;
+    }
 
-        if (filter.getCategoriesId() != null && filter.getCategoriesId().length > 0) {
-            criterias.add(Criteria.where("categoryId").in(
-                    (Object[]) filter.getCategoriesId()
-            ));
+    private BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal128) {
+            return decimal128.bigDecimalValue();
         }
+        return new BigDecimal(value.toString());
+    }
 
-        return criterias.isEmpty()
-                ? Optional.empty()
-                : Optional.of(new Criteria().andOperator(criterias.toArray(new Criteria[0])));
+    private long singleCount(List<Document> counts) {
+        if (counts == null || counts.isEmpty()) {
+            return 0L;
+        }
+        return ((Number) counts.getFirst().get(COUNT)).longValue();
     }
 
-    public Optional<TextCriteria> buildTextCriteria(ProductFilter filter) {
-        if (StringUtils.isNotBlank(filter.getTerm())) {
-            return Optional.of(TextCriteria.forDefaultLanguage().matching(filter.getTerm()));
+    private long totalOf(Document result) {
+        if (result == null) {
+            return 0L;
         }
-        return Optional.empty();
+        List<Document> metadata = result.getList(METADATA, Document.class);
+        if (metadata == null || metadata.isEmpty()) {
+            return 0L;
+        }
+        return ((Number) metadata.getFirst().get(TOTAL)).longValue();
+    }
+
+    private PageModel<ProductSummaryOutput> pageOf(List<ProductSummaryOutput> rows, ProductFilter filter,
+                                                   long totalElements, boolean exact) {
+        boolean hasNext = rows.size() > filter.getSize();
+        List<ProductSummaryOutput> content = hasNext ? List.copyOf(rows.subList(0, filter.getSize())) : rows;
+        return PageModel.<ProductSummaryOutput>builder()
+                .content(content)
+                .number(filter.getPage())
+                .size(filter.getSize())
+                .totalElements(totalElements)
+                .totalPages((int) Math.ceil((double) totalElements / filter.getSize()))
+                .totalElementsExact(exact)
+                .nextCursor(hasNext ? nextCursor(content, filter) : null)
+                .build();
+    }
+
+    private PageModel<ProductSummaryOutput> emptyPage() {
+        return PageModel.<ProductSummaryOutput>builder()
+                .number(0)
+                .size(0)
+                .totalPages(0)
+                .totalElements(0)
+                .build();
     }
 
-    private Sort sortWith(ProductFilter filter) {
+    private String nextCursor(List<ProductSummaryOutput> content, ProductFilter filter) {
         if (StringUtils.isNotBlank(filter.getTerm())) {
-            return Sort.by("score");
+            return null;
         }
-        return Sort.by(filter.getSortDirectionOrDefault(),
-                filter.getSortByPropertyOrDefault().getPropertyName());
+        return ProductCursor.after(content.getLast(), filter).encode();
     }
 
 }
@@ -0,0 +1,75 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+@RequiredArgsConstructor
+class CausalConsistencyFilter extends OncePerRequestFilter {
+
+    private static final ClientSessionOptions CAUSALLY_CONSISTENT = ClientSessionOptions.builder()
+            .causallyConsistent(true)
+            .build();
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final MongoDatabaseFactory mongoDatabaseFactory;
+    private final MongoReadRoutingProperties.CausalConsistency properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"true".equalsIgnoreCase(request.getHeader(properties.getRequestHeader()))
+                && StringUtils.isBlank(request.getHeader(properties.getTokenHeader()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CausalConsistencyToken token;
+        try {
+            String header = request.getHeader(properties.getTokenHeader());
+            token = StringUtils.isBlank(header) ? null : CausalConsistencyToken.decode(header);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        ContentCachingResponseWrapper bufferedResponse = SAFE_METHODS.contains(request.getMethod())
+                ? null : new ContentCachingResponseWrapper(response);
+        HttpServletResponse target = bufferedResponse == null ? response : bufferedResponse;
+
+        try (ClientSession session = mongoDatabaseFactory.getSession(CAUSALLY_CONSISTENT)) {
+            if (token != null) {
+                token.applyTo(session);
+            }
+
+            CausalConsistencySessions.bind(session);
+            try {
+                filterChain.doFilter(request, target);
+            } finally {
+                CausalConsistencySessions.unbind();
+            }
+
+            if (!target.isCommitted()) {
+                CausalConsistencyToken.of(session).ifPresent(latest ->
+                        target.setHeader(properties.getTokenHeader(), latest.encode()));
+            }
+        } finally {
+            if (bufferedResponse != null) {
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import com.mongodb.client.ClientSession;
+
+import java.util.Optional;
+
+final class CausalConsistencySessions {
+
+    private static final ThreadLocal<ClientSession> CURRENT = new ThreadLocal<>();
+
+    private CausalConsistencySessions() {
+    }
+
+    static Optional<ClientSession> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void bind(ClientSession session) {
+        CURRENT.set(session);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+}
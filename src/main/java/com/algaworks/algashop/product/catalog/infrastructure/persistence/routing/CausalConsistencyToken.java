@@ -0,0 +1,51 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import com.mongodb.session.ClientSession;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Optional;
+
+record CausalConsistencyToken(BsonTimestamp operationTime, BsonDocument clusterTime) {
+
+    private static final String OPERATION_TIME = "operationTime";
+    private static final String CLUSTER_TIME = "clusterTime";
+
+    static Optional<CausalConsistencyToken> of(ClientSession session) {
+        if (session.getOperationTime() == null || session.getClusterTime() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CausalConsistencyToken(session.getOperationTime(), session.getClusterTime()));
+    }
+
+    static CausalConsistencyToken decode(String token) {
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            BsonDocument document = new BsonDocumentCodec()
+                    .decode(new BsonBinaryReader(bytes), DecoderContext.builder().build());
+            return new CausalConsistencyToken(document.getTimestamp(OPERATION_TIME), document.getDocument(CLUSTER_TIME));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid causal consistency token", e);
+        }
+    }
+
+    void applyTo(ClientSession session) {
+        session.advanceClusterTime(clusterTime);
+        session.advanceOperationTime(operationTime);
+    }
+
+    String encode() {
+        BsonDocument document = new BsonDocument(OPERATION_TIME, operationTime).append(CLUSTER_TIME, clusterTime);
+        ByteBuffer buffer = new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import lombok.RequiredArgsConstructor;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+@RequiredArgsConstructor
+class CausalSessionMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private final MongoDatabaseFactory delegate;
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return CausalConsistencySessions.current()
+                .map(session -> delegate.withSession(session).getMongoDatabase())
+                .orElseGet(delegate::getMongoDatabase);
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return CausalConsistencySessions.current()
+                .map(session -> delegate.withSession(session).getMongoDatabase(dbName))
+                .orElseGet(() -> delegate.getMongoDatabase(dbName));
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return delegate.withSession(session);
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+
+}
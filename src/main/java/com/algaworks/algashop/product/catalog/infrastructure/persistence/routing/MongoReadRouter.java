@@ -0,0 +1,42 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MongoReadRouter {
+
+    private final MongoOperations primary;
+    private final MongoOperations listings;
+    private final MongoOperations details;
+
+    public MongoReadRouter(MongoTemplate mongoTemplate, MongoReadRoutingProperties properties) {
+        this.primary = mongoTemplate;
+        this.listings = routed(mongoTemplate, properties, properties.getListings());
+        this.details = routed(mongoTemplate, properties, properties.getDetails());
+    }
+
+    public MongoOperations primary() {
+        return primary;
+    }
+
+    public MongoOperations listings() {
+        return listings;
+    }
+
+    public MongoOperations details() {
+        return details;
+    }
+
+    private static MongoOperations routed(MongoTemplate mongoTemplate, MongoReadRoutingProperties properties,
+                                          MongoReadRoutingProperties.Route route) {
+        if (!properties.isEnabled() || route.getMode() == MongoReadRoutingProperties.Mode.PRIMARY) {
+            return mongoTemplate;
+        }
+        MongoTemplate routed = new MongoTemplate(mongoTemplate.getMongoDatabaseFactory(), mongoTemplate.getConverter());
+        routed.setReadPreference(route.toReadPreference());
+        return routed;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+@Configuration
+@ConditionalOnProperty(name = "algashop.mongodb.read-routing.causal-consistency.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class MongoReadRoutingConfig {
+
+    @Bean
+    public static BeanPostProcessor causalSessionMongoDatabaseFactoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof MongoDatabaseFactory factory && !(bean instanceof CausalSessionMongoDatabaseFactory)) {
+                    return new CausalSessionMongoDatabaseFactory(factory);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<CausalConsistencyFilter> causalConsistencyFilter(MongoDatabaseFactory mongoDatabaseFactory,
+                                                                                  MongoReadRoutingProperties properties) {
+        return new FilterRegistrationBean<>(
+                new CausalConsistencyFilter(mongoDatabaseFactory, properties.getCausalConsistency()));
+    }
+
+}
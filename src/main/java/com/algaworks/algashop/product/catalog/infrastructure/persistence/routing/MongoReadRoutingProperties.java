@@ -0,0 +1,89 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import com.mongodb.ReadPreference;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConfigurationProperties("algashop.mongodb.read-routing")
+@Data
+@Validated
+public class MongoReadRoutingProperties {
+
+    private boolean enabled = true;
+
+    @Valid
+    @NotNull
+    private Route listings = new Route(Mode.SECONDARY_PREFERRED, Duration.ofSeconds(90));
+
+    @Valid
+    @NotNull
+    private Route details = new Route(Mode.PRIMARY, null);
+
+    @Valid
+    @NotNull
+    private CausalConsistency causalConsistency = new CausalConsistency();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+
+        @NotNull
+        private Mode mode = Mode.PRIMARY;
+
+        @DurationMin(seconds = 90)
+        private Duration maxStaleness;
+
+        public ReadPreference toReadPreference() {
+            if (mode == Mode.PRIMARY) {
+                return ReadPreference.primary();
+            }
+            if (maxStaleness == null) {
+                return ReadPreference.valueOf(mode.getDriverName());
+            }
+            return ReadPreference.valueOf(mode.getDriverName(), List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+        }
+
+    }
+
+    @Data
+    public static class CausalConsistency {
+
+        private boolean enabled = true;
+
+        @NotBlank
+        private String requestHeader = "X-Causal-Consistency";
+
+        @NotBlank
+        private String tokenHeader = "X-Causal-Consistency-Token";
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Mode {
+        PRIMARY("primary"),
+        PRIMARY_PREFERRED("primaryPreferred"),
+        SECONDARY("secondary"),
+        SECONDARY_PREFERRED("secondaryPreferred"),
+        NEAREST("nearest");
+
+        private final String driverName;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("algashop.query.watermarks")
+@Data
+@Validated
+public class CatalogWatermarkProperties {
+
+    @NotNull
+    private Duration maxStaleness = Duration.ofSeconds(2);
+
+    @Positive
+    private long maximumSize = 10_000;
+
+}
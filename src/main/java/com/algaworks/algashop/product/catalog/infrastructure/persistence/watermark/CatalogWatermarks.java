@@ -0,0 +1,161 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark;
+
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.routing.MongoReadRouter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+
+@Component("catalogWatermarks")
+public class CatalogWatermarks {
+
+    public static final String COLLECTION = "catalog_watermarks";
+    public static final String CATEGORIES = "categories";
+    public static final String PRODUCTS = "products";
+
+    private static final String PRODUCTS_OF_CATEGORY_PREFIX = "products:category:";
+    private static final String TRACKED_SINCE = "tracked-since";
+    private static final String VERSION = "version";
+    private static final String UPDATED_AT = "updatedAt";
+
+    private final MongoReadRouter mongoReadRouter;
+    private final Cache<String, Watermark> watermarks;
+    private volatile Instant trackedSince;
+
+    public CatalogWatermarks(MongoReadRouter mongoReadRouter, CatalogWatermarkProperties properties) {
+        this.mongoReadRouter = mongoReadRouter;
+        this.watermarks = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getMaxStaleness())
+                .maximumSize(properties.getMaximumSize())
+                .build();
+    }
+
+    public static String productsOf(UUID categoryId) {
+        return PRODUCTS_OF_CATEGORY_PREFIX + categoryId;
+    }
+
+    public static List<String> productListingScopes(UUID[] categoryIds) {
+        if (categoryIds == null || categoryIds.length == 0) {
+            return List.of(PRODUCTS);
+        }
+        return Arrays.stream(categoryIds)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(CatalogWatermarks::productsOf)
+                .toList();
+    }
+
+    public static List<String> productScopes(Collection<UUID> categoryIds) {
+        List<String> scopes = new ArrayList<>();
+        scopes.add(PRODUCTS);
+        categoryIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(CatalogWatermarks::productsOf)
+                .forEach(scopes::add);
+        return scopes;
+    }
+
+    public void advance(Collection<String> scopes) {
+        Set<String> distinctScopes = new LinkedHashSet<>(scopes);
+        if (distinctScopes.isEmpty()) {
+            return;
+        }
+
+        Date now = new Date();
+        BulkOperations bulk = mongoReadRouter.primary().bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        distinctScopes.forEach(scope -> bulk.upsert(
+                new Query(Criteria.where("_id").is(scope)),
+                new Update().inc(VERSION, 1).max(UPDATED_AT, now)));
+        bulk.execute();
+        watermarks.invalidateAll(distinctScopes);
+    }
+
+    public void advanceAll() {
+        Date now = new Date();
+        advance(List.of(CATEGORIES, PRODUCTS));
+        mongoReadRouter.primary().updateMulti(new Query(Criteria.where("_id").regex("^" + PRODUCTS_OF_CATEGORY_PREFIX)),
+                new Update().inc(VERSION, 1).max(UPDATED_AT, now), COLLECTION);
+        watermarks.invalidateAll();
+    }
+
+    public ResourceVersionOutput current(String scope) {
+        return current(List.of(scope));
+    }
+
+    public ResourceVersionOutput current(Collection<String> scopes) {
+        long version = 0;
+        Instant updatedAt = trackedSince();
+        for (Watermark watermark : watermarks.getAll(new LinkedHashSet<>(scopes), this::read).values()) {
+            version += watermark.version();
+            if (watermark.updatedAt() != null && watermark.updatedAt().isAfter(updatedAt)) {
+                updatedAt = watermark.updatedAt();
+            }
+        }
+
+        return ResourceVersionOutput.builder()
+                .version(version)
+                .updatedAt(updatedAt.atOffset(ZoneOffset.UTC))
+                .build();
+    }
+
+    private Map<String, Watermark> read(Set<? extends String> scopes) {
+        Query query = new Query(Criteria.where("_id").in(scopes));
+        Map<String, Watermark> read = new HashMap<>();
+        scopes.forEach(scope -> read.put(scope, new Watermark(0, null)));
+        for (Document watermark : mongoReadRouter.primary().find(query, Document.class, COLLECTION)) {
+            Date watermarkUpdatedAt = watermark.getDate(UPDATED_AT);
+            read.put(watermark.getString("_id"), new Watermark(
+                    Optional.ofNullable(watermark.get(VERSION, Number.class)).map(Number::longValue).orElse(0L),
+                    watermarkUpdatedAt == null ? null : watermarkUpdatedAt.toInstant()));
+        }
+        return read;
+    }
+
+    private Instant trackedSince() {
+        Instant since = trackedSince;
+        if (since != null) {
+            return since;
+        }
+
+        Query query = new Query(Criteria.where("_id").is(TRACKED_SINCE));
+        Document tracked;
+        try {
+            tracked = mongoReadRouter.primary().findAndModify(query, new Update().setOnInsert(UPDATED_AT, new Date()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+        } catch (DuplicateKeyException e) {
+            tracked = mongoReadRouter.primary().findOne(query, Document.class, COLLECTION);
+        }
+
+        if (tracked == null || tracked.getDate(UPDATED_AT) == null) {
+            return Instant.now();
+        }
+        since = tracked.getDate(UPDATED_AT).toInstant();
+        trackedSince = since;
+        return since;
+    }
+
+    public String versionOf(String scope) {
+        return versionOf(List.of(scope));
+    }
+
+    public String versionOf(Collection<String> scopes) {
+        return String.valueOf(current(scopes).getVersion());
+    }
+
+    private record Watermark(long version, Instant updatedAt) {
+    }
+
+}
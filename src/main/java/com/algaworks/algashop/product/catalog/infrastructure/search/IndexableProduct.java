@@ -0,0 +1,19 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import org.bson.Document;
+
+import java.util.UUID;
+
+public record IndexableProduct(UUID id, String name, String brand, String description, Boolean enabled) {
+
+    public static IndexableProduct of(Document document) {
+        return new IndexableProduct(
+                document.get("_id", UUID.class),
+                document.getString("name"),
+                document.getString("brand"),
+                document.getString("description"),
+                document.getBoolean("enabled")
+        );
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import java.util.Arrays;
+
+class PostingList {
+
+    private static final int STRIDE = 1 + ProductSearchIndex.FIELDS;
+
+    private int[] entries = new int[STRIDE * 4];
+    private int size;
+
+    void add(int ordinal, int[] frequencies) {
+        int offset = size * STRIDE;
+        if (offset + STRIDE > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[offset] = ordinal;
+        System.arraycopy(frequencies, 0, entries, offset + 1, ProductSearchIndex.FIELDS);
+        size++;
+    }
+
+    void remove(int ordinal) {
+        for (int i = 0; i < size; i++) {
+            if (entries[i * STRIDE] == ordinal) {
+                int last = (size - 1) * STRIDE;
+                System.arraycopy(entries, last, entries, i * STRIDE, STRIDE);
+                size--;
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int ordinal(int index) {
+        return entries[index * STRIDE];
+    }
+
+    int frequency(int index, int field) {
+        return entries[index * STRIDE + 1 + field];
+    }
+
+}
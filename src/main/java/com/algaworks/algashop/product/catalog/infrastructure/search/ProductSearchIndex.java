@@ -0,0 +1,301 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Component
+public class ProductSearchIndex {
+
+    static final int FIELDS = 3;
+
+    private static final float[] FIELD_WEIGHTS = {3.0f, 2.0f, 1.0f};
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_EXPANSIONS = 20;
+    private static final float PREFIX_WEIGHT = 0.7f;
+    private static final float FUZZY_WEIGHT = 0.5f;
+
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final long[] totalFieldLengths = new long[FIELDS];
+
+    private UUID[] ids = new UUID[INITIAL_CAPACITY];
+    private String[][] documentTerms = new String[INITIAL_CAPACITY][];
+    private int[][] fieldLengths = new int[FIELDS][INITIAL_CAPACITY];
+    private int nextOrdinal;
+    private int documentCount;
+
+    private volatile boolean ready;
+
+    public void rebuild(Stream<IndexableProduct> products) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            products.forEach(this::add);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(IndexableProduct product) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.id());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = SearchTextAnalyzer.tokenize(query);
+        if (tokens.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documentCount == 0) {
+                return List.of();
+            }
+
+            float[] averageFieldLengths = averageFieldLengths();
+            float[] scores = new float[nextOrdinal];
+
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean lastToken = i == tokens.size() - 1;
+                for (Map.Entry<String, Float> expansion : expand(tokens.get(i), lastToken).entrySet()) {
+                    accumulate(postings.get(expansion.getKey()), expansion.getValue(), averageFieldLengths, scores);
+                }
+            }
+
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(IndexableProduct product) {
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        ensureCapacity(ordinal + 1);
+
+        Map<String, int[]> frequencies = new HashMap<>();
+        String[] fields = {product.name(), product.brand(), product.description()};
+
+        for (int field = 0; field < FIELDS; field++) {
+            List<String> tokens = SearchTextAnalyzer.tokenize(fields[field]);
+            fieldLengths[field][ordinal] = tokens.size();
+            totalFieldLengths[field] += tokens.size();
+            for (String token : tokens) {
+                frequencies.computeIfAbsent(token, t -> new int[FIELDS])[field]++;
+            }
+        }
+
+        frequencies.forEach((term, termFrequencies) ->
+                postings.computeIfAbsent(term, t -> new PostingList()).add(ordinal, termFrequencies));
+
+        ids[ordinal] = product.id();
+        documentTerms[ordinal] = frequencies.keySet().toArray(new String[0]);
+        ordinals.put(product.id(), ordinal);
+        documentCount++;
+    }
+
+    private void removeDocument(UUID productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+
+        for (String term : documentTerms[ordinal]) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+            postingList.remove(ordinal);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+
+        for (int field = 0; field < FIELDS; field++) {
+            totalFieldLengths[field] -= fieldLengths[field][ordinal];
+            fieldLengths[field][ordinal] = 0;
+        }
+
+        ids[ordinal] = null;
+        documentTerms[ordinal] = null;
+        freeOrdinals.push(ordinal);
+        documentCount--;
+    }
+
+    private void clear() {
+        postings.clear();
+        ordinals.clear();
+        freeOrdinals.clear();
+        Arrays.fill(totalFieldLengths, 0L);
+        ids = new UUID[INITIAL_CAPACITY];
+        documentTerms = new String[INITIAL_CAPACITY][];
+        fieldLengths = new int[FIELDS][INITIAL_CAPACITY];
+        nextOrdinal = 0;
+        documentCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        documentTerms = Arrays.copyOf(documentTerms, newCapacity);
+        for (int field = 0; field < FIELDS; field++) {
+            fieldLengths[field] = Arrays.copyOf(fieldLengths[field], newCapacity);
+        }
+    }
+
+    private float[] averageFieldLengths() {
+        float[] averages = new float[FIELDS];
+        for (int field = 0; field < FIELDS; field++) {
+            averages[field] = Math.max(1f, (float) totalFieldLengths[field] / documentCount);
+        }
+        return averages;
+    }
+
+    private Map<String, Float> expand(String token, boolean prefix) {
+        Map<String, Float> expansions = new LinkedHashMap<>();
+
+        if (postings.containsKey(token)) {
+            expansions.put(token, 1.0f);
+        }
+
+        if (prefix && token.length() >= MIN_PREFIX_LENGTH) {
+            for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                expansions.putIfAbsent(term, PREFIX_WEIGHT);
+            }
+        }
+
+        if (expansions.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            String firstCharacter = token.substring(0, 1);
+            for (String term : postings.subMap(firstCharacter, true, firstCharacter + Character.MAX_VALUE, false).keySet()) {
+                if (expansions.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                if (Math.abs(term.length() - token.length()) <= maxEdits && withinEditDistance(token, term, maxEdits)) {
+                    expansions.put(term, FUZZY_WEIGHT);
+                }
+            }
+        }
+
+        return expansions;
+    }
+
+    private void accumulate(PostingList postingList, float queryWeight, float[] averageFieldLengths, float[] scores) {
+        if (postingList == null) {
+            return;
+        }
+
+        int documentFrequency = postingList.size();
+        float idf = (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+        for (int i = 0; i < documentFrequency; i++) {
+            int ordinal = postingList.ordinal(i);
+            float termFrequency = 0f;
+            for (int field = 0; field < FIELDS; field++) {
+                int frequency = postingList.frequency(i, field);
+                if (frequency > 0) {
+                    float normalization = 1 - B + B * fieldLengths[field][ordinal] / averageFieldLengths[field];
+                    termFrequency += FIELD_WEIGHTS[field] * frequency / normalization;
+                }
+            }
+            scores[ordinal] += queryWeight * idf * (termFrequency * (K1 + 1)) / (termFrequency + K1);
+        }
+    }
+
+    private List<SearchHit> topHits(float[] scores, int limit) {
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit, Comparator.comparingDouble(SearchHit::score));
+
+        for (int ordinal = 0; ordinal < scores.length; ordinal++) {
+            float score = scores[ordinal];
+            if (score <= 0f || ids[ordinal] == null) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(new SearchHit(ids[ordinal], score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new SearchHit(ids[ordinal], score));
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                .thenComparing(SearchHit::productId));
+        return hits;
+    }
+
+    static boolean withinEditDistance(String source, String target, int maxEdits) {
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[target.length()] <= maxEdits;
+    }
+
+}
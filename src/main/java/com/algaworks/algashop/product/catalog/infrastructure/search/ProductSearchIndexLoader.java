@@ -0,0 +1,33 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(20)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexLoader implements ApplicationRunner {
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSearchIndexUpdater productSearchIndexUpdater;
+    private final ProductSearchProperties productSearchProperties;
+
+    @Override
+    public void run(@NonNull ApplicationArguments args) {
+        if (!productSearchProperties.isEnabled()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        productSearchIndexUpdater.rebuild();
+        log.info("Product search index built with {} documents in {} ms",
+                productSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexUpdater {
+
+    private static final String PRODUCTS_COLLECTION = "products";
+
+    private final MongoOperations mongoOperations;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final ProductSearchProperties productSearchProperties;
+
+    public void rebuild() {
+        Query query = indexableFields(new Query())
+                .cursorBatchSize(productSearchProperties.getLoadBatchSize());
+
+        try (Stream<Document> documents = mongoOperations.stream(query, Document.class, PRODUCTS_COLLECTION)) {
+            productSearchIndex.rebuild(documents.map(IndexableProduct::of));
+        }
+
+        try (Stream<Document> documents = mongoOperations.stream(query, Document.class, PRODUCTS_COLLECTION)) {
+            productSuggestionIndex.rebuild(documents.map(IndexableProduct::of));
+        }
+    }
+
+    public void reindex(UUID productId) {
+        if (!productSearchProperties.isEnabled()) {
+            return;
+        }
+
+        Query query = indexableFields(new Query(Criteria.where("_id").is(productId)));
+        Document document = mongoOperations.findOne(query, Document.class, PRODUCTS_COLLECTION);
+
+        if (document == null) {
+            productSearchIndex.remove(productId);
+            productSuggestionIndex.remove(productId);
+            return;
+        }
+
+        IndexableProduct product = IndexableProduct.of(document);
+        productSearchIndex.index(product);
+        productSuggestionIndex.index(product);
+    }
+
+    private Query indexableFields(Query query) {
+        query.fields().include("name", "brand", "description", "enabled");
+        return query;
+    }
+
+}
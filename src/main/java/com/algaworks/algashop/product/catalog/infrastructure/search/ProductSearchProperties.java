@@ -0,0 +1,26 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties("algashop.search.products")
+@Data
+@Validated
+public class ProductSearchProperties {
+
+    private boolean enabled = true;
+
+    @Positive
+    private int maxCandidates = 1_000;
+
+    @Positive
+    private int loadBatchSize = 1_000;
+
+    @Positive
+    private int maxSuggestions = 20;
+
+}
@@ -0,0 +1,141 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Component
+public class ProductSuggestionIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Set<UUID>> namePrefixes = new TreeMap<>();
+    private final NavigableMap<String, Set<UUID>> wordPrefixes = new TreeMap<>();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public void rebuild(Stream<IndexableProduct> products) {
+        lock.writeLock().lock();
+        try {
+            namePrefixes.clear();
+            wordPrefixes.clear();
+            entries.clear();
+            products.forEach(this::add);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(IndexableProduct product) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(product.id());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = String.join(" ", SearchTextAnalyzer.tokenize(query));
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<UUID> productIds = new LinkedHashSet<>();
+            collect(namePrefixes, prefix, productIds, limit);
+            collect(wordPrefixes, prefix, productIds, limit);
+
+            return productIds.stream()
+                    .map(entries::get)
+                    .map(entry -> new Suggestion(entry.productId(), entry.name()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(NavigableMap<String, Set<UUID>> keys, String prefix, Set<UUID> productIds, int limit) {
+        for (Set<UUID> ids : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (UUID id : ids) {
+                if (productIds.size() >= limit) {
+                    return;
+                }
+                productIds.add(id);
+            }
+        }
+    }
+
+    private void add(IndexableProduct product) {
+        if (!Boolean.TRUE.equals(product.enabled())) {
+            return;
+        }
+
+        List<String> nameTokens = SearchTextAnalyzer.tokenize(product.name());
+        if (nameTokens.isEmpty()) {
+            return;
+        }
+
+        String nameKey = String.join(" ", nameTokens);
+        Set<String> wordKeys = new HashSet<>();
+        for (int i = 1; i < nameTokens.size(); i++) {
+            wordKeys.add(String.join(" ", nameTokens.subList(i, nameTokens.size())));
+        }
+        List<String> brandTokens = SearchTextAnalyzer.tokenize(product.brand());
+        if (!brandTokens.isEmpty()) {
+            wordKeys.add(String.join(" ", brandTokens) + " " + nameKey);
+        }
+        wordKeys.remove(nameKey);
+
+        namePrefixes.computeIfAbsent(nameKey, k -> new TreeSet<>()).add(product.id());
+        wordKeys.forEach(key -> wordPrefixes.computeIfAbsent(key, k -> new TreeSet<>()).add(product.id()));
+        entries.put(product.id(), new Entry(product.id(), product.name(), nameKey, wordKeys));
+    }
+
+    private void removeEntry(UUID productId) {
+        Entry entry = entries.remove(productId);
+        if (entry == null) {
+            return;
+        }
+        removeKey(namePrefixes, entry.nameKey(), productId);
+        entry.wordKeys().forEach(key -> removeKey(wordPrefixes, key, productId));
+    }
+
+    private void removeKey(NavigableMap<String, Set<UUID>> keys, String key, UUID productId) {
+        Set<UUID> ids = keys.get(key);
+        if (ids == null) {
+            return;
+        }
+        ids.remove(productId);
+        if (ids.isEmpty()) {
+            keys.remove(key);
+        }
+    }
+
+    public record Suggestion(UUID productId, String name) {
+    }
+
+    private record Entry(UUID productId, String name, String nameKey, Set<String> wordKeys) {
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import java.util.UUID;
+
+public record SearchHit(UUID productId, float score) {
+}
@@ -0,0 +1,16 @@
+package com.algaworks.algashop.product.catalog.infrastructure.warmup;
+
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WarmupConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer minimumConnectionPoolCustomizer(WarmupProperties warmupProperties) {
+        return builder -> builder.applyToConnectionPoolSettings(pool ->
+                pool.minSize(warmupProperties.getMongoConnections()));
+    }
+
+}
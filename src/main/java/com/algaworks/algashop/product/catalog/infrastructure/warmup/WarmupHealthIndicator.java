@@ -0,0 +1,21 @@
+package com.algaworks.algashop.product.catalog.infrastructure.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component("warmup")
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupState warmupState;
+
+    @Override
+    public @Nullable Health health() {
+        Health.Builder builder = warmupState.isCompleted() ? Health.up() : Health.outOfService();
+        return builder.withDetails(warmupState.getDetails()).build();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.algaworks.algashop.product.catalog.infrastructure.warmup;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("algashop.warmup")
+@Data
+@Validated
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    @PositiveOrZero
+    private int topProducts = 500;
+
+    @Positive
+    private int pageSize = 100;
+
+    @PositiveOrZero
+    private int filterIterations = 20;
+
+    @PositiveOrZero
+    private int mongoConnections = 10;
+
+    @NotNull
+    private Duration timeout = Duration.ofMinutes(2);
+
+}
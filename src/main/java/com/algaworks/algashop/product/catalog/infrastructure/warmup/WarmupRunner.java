@@ -0,0 +1,183 @@
+package com.algaworks.algashop.product.catalog.infrastructure.warmup;
+
+import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryDetailOutput;
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryFilter;
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryQueryService;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductQueryService;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductSummaryOutput;
+import com.mongodb.ReadPreference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+@Component
+@Order(30)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Document PING = new Document("ping", 1);
+
+    private final WarmupProperties warmupProperties;
+    private final WarmupState warmupState;
+    private final ProductQueryService productQueryService;
+    private final CategoryQueryService categoryQueryService;
+    private final MongoOperations mongoOperations;
+    private final ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+
+    @Override
+    public void run(@NonNull ApplicationArguments args) {
+        long start = System.nanoTime();
+        if (!warmupProperties.isEnabled()) {
+            warmupState.record("status", "disabled");
+            warmupState.complete(Duration.ZERO);
+            return;
+        }
+
+        long deadline = start + warmupProperties.getTimeout().toNanos();
+        step("connections", deadline, this::openConnections, 0);
+        List<UUID> categoryIds = step("categories", deadline, this::preloadCategories, List.of());
+        List<ProductSummaryOutput> products = step("products", deadline, this::preloadProducts, List.of());
+        step("filters", deadline, () -> runSyntheticFilters(products, categoryIds, deadline), 0);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        warmupState.complete(elapsed);
+        log.info("Warm-up finished in {} ms | {}", elapsed.toMillis(), warmupState.getDetails());
+    }
+
+    private int openConnections() {
+        int connections = warmupProperties.getMongoConnections();
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, connections))) {
+            List<CompletableFuture<Document>> pings = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                ReadPreference readPreference = i % 2 == 0 ? ReadPreference.primary() : ReadPreference.secondaryPreferred();
+                pings.add(CompletableFuture.supplyAsync(() -> mongoOperations.executeCommand(PING, readPreference), executor));
+            }
+            CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new)).join();
+        }
+
+        redisConnectionFactory.ifAvailable(factory -> {
+            try (RedisConnection connection = factory.getConnection()) {
+                connection.ping();
+            }
+        });
+        return connections;
+    }
+
+    private List<UUID> preloadCategories() {
+        List<UUID> categoryIds = new ArrayList<>();
+        int page = 0;
+        PageModel<CategoryDetailOutput> categories;
+        do {
+            categories = categoryQueryService.filter(CategoryFilter.builder()
+                    .page(page++)
+                    .size(warmupProperties.getPageSize())
+                    .build());
+            categories.getContent().forEach(category -> {
+                categoryQueryService.findById(category.getId());
+                categoryIds.add(category.getId());
+            });
+        } while (page < categories.getTotalPages());
+        return categoryIds;
+    }
+
+    private List<ProductSummaryOutput> preloadProducts() {
+        List<ProductSummaryOutput> products = new ArrayList<>();
+        int page = 0;
+        while (products.size() < warmupProperties.getTopProducts()) {
+            ProductFilter filter = productFilter(page++);
+            filter.setEnabled(true);
+            filter.setSortDirection(Sort.Direction.DESC);
+            List<ProductSummaryOutput> content = productQueryService.filter(filter).getContent();
+            if (content.isEmpty()) {
+                break;
+            }
+            content.stream()
+                    .limit(warmupProperties.getTopProducts() - products.size())
+                    .forEach(product -> {
+                        productQueryService.findById(product.getId());
+                        products.add(product);
+                    });
+        }
+        return products;
+    }
+
+    private int runSyntheticFilters(List<ProductSummaryOutput> products, List<UUID> categoryIds, long deadline) {
+        int requests = 0;
+        for (int i = 0; i < warmupProperties.getFilterIterations() && System.nanoTime() < deadline; i++) {
+            ProductFilter byPrice = productFilter(i % 5);
+            byPrice.setPriceFrom(BigDecimal.valueOf(i * 10L));
+            byPrice.setSortByProperty(ProductFilter.SortType.SALE_PRICE);
+            productQueryService.filter(byPrice);
+            requests++;
+
+            if (!categoryIds.isEmpty()) {
+                ProductFilter byCategory = productFilter(0);
+                byCategory.setCategoriesId(new UUID[]{categoryIds.get(i % categoryIds.size())});
+                productQueryService.facets(byCategory);
+                requests++;
+            }
+
+            if (!products.isEmpty()) {
+                ProductFilter byTerm = productFilter(0);
+                byTerm.setTerm(products.get(i % products.size()).getName());
+                productQueryService.filter(byTerm);
+                productQueryService.suggest(byTerm.getTerm().substring(0, Math.min(3, byTerm.getTerm().length())), 10);
+                requests += 2;
+            }
+        }
+        return requests;
+    }
+
+    private ProductFilter productFilter(int page) {
+        ProductFilter filter = new ProductFilter();
+        filter.setPage(page);
+        filter.setSize(warmupProperties.getPageSize());
+        return filter;
+    }
+
+    private <T> T step(String name, long deadline, Supplier<T> step, T fallback) {
+        if (System.nanoTime() >= deadline) {
+            warmupState.record(name, "skipped: timeout");
+            return fallback;
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = step.get();
+            warmupState.record(name, Map.of(
+                    "count", result instanceof Collection<?> collection ? collection.size() : result,
+                    "elapsedMs", Duration.ofNanos(System.nanoTime() - start).toMillis()));
+            return result;
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step '{}' failed | cause='{}'", name, e.getClass().getSimpleName(), e);
+            warmupState.record(name, "failed: " + e.getClass().getSimpleName());
+            return fallback;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.algaworks.algashop.product.catalog.infrastructure.warmup;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class WarmupState {
+
+    private final Map<String, Object> details = new ConcurrentHashMap<>();
+
+    private volatile boolean completed;
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Map<String, Object> getDetails() {
+        return Map.copyOf(details);
+    }
+
+    void record(String step, Object result) {
+        details.put(step, result);
+    }
+
+    void complete(Duration elapsed) {
+        details.put("elapsedMs", elapsed.toMillis());
+        completed = true;
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.algaworks.algashop.product.catalog.presentation;
 
+import com.algaworks.algashop.product.catalog.application.InvalidFilterException;
+import com.algaworks.algashop.product.catalog.application.QueryBudgetExceededException;
 import com.algaworks.algashop.product.catalog.application.ResourceNotFoundException;
 import com.algaworks.algashop.product.catalog.domain.model.DomainEntityNotFoundException;
 import com.algaworks.algashop.product.catalog.domain.model.DomainException;
@@ -25,6 +27,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final long RETRY_AFTER_SECONDS = 5;
+
     private final MessageSource messageSource;
 
     @Override
@@ -58,6 +62,26 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         return problemDetail;
     }
 
+    @ExceptionHandler({InvalidFilterException.class})
+    public ProblemDetail handleInvalidFilterException(Exception e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setTitle("Invalid filter");
+        problemDetail.setDetail(e.getMessage());
+        problemDetail.setType(URI.create("/errors/invalid-filter"));
+        return problemDetail;
+    }
+
+    @ExceptionHandler({QueryBudgetExceededException.class})
+    public ResponseEntity<ProblemDetail> handleQueryBudgetExceededException(Exception e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setTitle("Query budget exceeded");
+        problemDetail.setDetail(e.getMessage());
+        problemDetail.setType(URI.create("/errors/query-budget-exceeded"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                .body(problemDetail);
+    }
+
     @ExceptionHandler({DomainException.class, UnprocessableContentException.class})
     public ProblemDetail handleUnprocessableContentException(Exception e) {
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.UNPROCESSABLE_CONTENT);
@@ -1,6 +1,7 @@
 package com.algaworks.algashop.product.catalog.presentation;
 
 import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 import com.algaworks.algashop.product.catalog.application.category.management.CategoryManagementApplicationService;
 import com.algaworks.algashop.product.catalog.application.category.query.CategoryDetailOutput;
 import com.algaworks.algashop.product.catalog.application.category.query.CategoryFilter;
@@ -17,7 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.Duration;
-import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -45,12 +46,20 @@ public class CategoryController {
 
     @GetMapping("/{categoryId}")
     @CanReadCategories
-    public ResponseEntity<CategoryDetailOutput> findById(@PathVariable UUID categoryId) {
+    public ResponseEntity<CategoryDetailOutput> findById(@PathVariable UUID categoryId, WebRequest webRequest) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+        Optional<ResponseEntity<CategoryDetailOutput>> notModified = ConditionalRequests.notModified(webRequest,
+                cacheControl,
+                () -> categoryQueryService.findVersion(categoryId),
+                version -> eTagOf(version.getId(), version.getVersion()));
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+
         CategoryDetailOutput category = categoryQueryService.findById(categoryId);
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
-                .eTag("category:id:" + category.getId() + ":v:" + category.getVersion())
-                .lastModified(category.getUpdatedAt().toInstant())
+        return ConditionalRequests.ok(cacheControl, eTagOf(category.getId(), category.getVersion()),
+                        category.getUpdatedAt())
                 .body(category);
     }
 
@@ -59,19 +68,24 @@ public class CategoryController {
     public ResponseEntity<PageModel<CategoryDetailOutput>> filter(CategoryFilter filter,
                                                                   WebRequest webRequest) {
         if (!filter.isCacheable()) {
-            ResponseEntity.ok(categoryQueryService.filter(filter));
+            return ResponseEntity.ok(categoryQueryService.filter(filter));
         }
 
-        OffsetDateTime lastModified = categoryQueryService.lastModified();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+        ResourceVersionOutput listVersion = categoryQueryService.findListVersion();
+        String eTag = "categories:v:" + listVersion.getVersion();
 
-        if (webRequest.checkNotModified(lastModified.toInstant().toEpochMilli())) {
-            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        Optional<ResponseEntity<PageModel<CategoryDetailOutput>>> notModified = ConditionalRequests.notModified(
+                webRequest, cacheControl, eTag, listVersion.getUpdatedAt());
+        if (notModified.isPresent()) {
+            return notModified.get();
         }
 
         PageModel<CategoryDetailOutput> result = categoryQueryService.filter(filter);
         return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
-                .lastModified(lastModified.toInstant())
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .lastModified(listVersion.getUpdatedAt().toInstant())
                 .body(result);
     }
 
@@ -82,4 +96,8 @@ public class CategoryController {
         categoryManagementApplicationService.disable(categoryId);
     }
 
+    private String eTagOf(UUID categoryId, Long version) {
+        return "category:id:" + categoryId + ":v:" + version;
+    }
+
 }
@@ -0,0 +1,59 @@
+package com.algaworks.algashop.product.catalog.presentation;
+
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static <T> Optional<ResponseEntity<T>> notModified(WebRequest webRequest, CacheControl cacheControl,
+                                                       Supplier<ResourceVersionOutput> version,
+                                                       Function<ResourceVersionOutput, String> eTag) {
+        if (!isConditional(webRequest)) {
+            return Optional.empty();
+        }
+
+        ResourceVersionOutput current = version.get();
+        return notModified(webRequest, cacheControl, eTag.apply(current), current.getUpdatedAt());
+    }
+
+    static <T> Optional<ResponseEntity<T>> notModified(WebRequest webRequest, CacheControl cacheControl,
+                                                       String eTag, OffsetDateTime lastModified) {
+        if (!webRequest.checkNotModified(eTag, epochMilli(lastModified))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .build());
+    }
+
+    static ResponseEntity.BodyBuilder ok(CacheControl cacheControl, String eTag, OffsetDateTime lastModified) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(eTag);
+        return lastModified == null ? response : response.lastModified(lastModified.toInstant());
+    }
+
+    static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static long epochMilli(OffsetDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.toInstant().toEpochMilli();
+    }
+
+}
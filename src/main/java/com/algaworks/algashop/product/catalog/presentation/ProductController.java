@@ -2,22 +2,35 @@ package com.algaworks.algashop.product.catalog.presentation;
 
 
 import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 import com.algaworks.algashop.product.catalog.application.product.management.ProductInput;
 import com.algaworks.algashop.product.catalog.application.product.management.ProductManagementApplicationService;
 import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFacetsOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFieldSet;
 import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
 import com.algaworks.algashop.product.catalog.application.product.query.ProductQueryService;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductSuggestionOutput;
 import com.algaworks.algashop.product.catalog.application.product.query.ProductSummaryOutput;
 import com.algaworks.algashop.product.catalog.domain.model.category.CategoryNotFoundException;
 import com.algaworks.algashop.product.catalog.infrastructure.security.SecurityAnnotations;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.algaworks.algashop.product.catalog.infrastructure.security.SecurityAnnotations.*;
@@ -29,6 +42,8 @@ public class ProductController {
 
     private final ProductQueryService productQueryService;
     private final ProductManagementApplicationService productManagementApplicationService;
+    private final JsonMapper jsonMapper;
+    private final SparseFieldsRenderer sparseFieldsRenderer;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -56,13 +71,25 @@ public class ProductController {
 
     @GetMapping("/{productId}")
     @CanReadProducts
-    public ResponseEntity<ProductDetailOutput> findById(@PathVariable UUID productId) {
-        ProductDetailOutput product = productQueryService.findById(productId);
-        return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic())
-                .eTag("product:id:" + product.getId() + ":v:" + product.getVersion())
-                .lastModified(product.getUpdatedAt().toInstant())
-                .body(product);
+    public ResponseEntity<Object> findById(@PathVariable UUID productId,
+                                           @RequestParam(required = false) String fields,
+                                           WebRequest webRequest) {
+        ProductFieldSet fieldSet = ProductFieldSet.of(fields, ProductFieldSet.DETAIL_FIELDS);
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+        Optional<ResponseEntity<Object>> notModified = ConditionalRequests.notModified(webRequest, cacheControl,
+                () -> productQueryService.findVersion(productId),
+                version -> eTagOf(version.getId(), version.getVersion(), fieldSet));
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+
+        ProductDetailOutput product = fieldSet.isAll()
+                ? productQueryService.findById(productId)
+                : productQueryService.findById(productId, fieldSet);
+        return ConditionalRequests.ok(cacheControl, eTagOf(product.getId(), product.getVersion(), fieldSet),
+                        product.getUpdatedAt())
+                .body(sparseFieldsRenderer.render(product, fieldSet));
     }
 
     @DeleteMapping("/{productId}/enable")
@@ -81,8 +108,65 @@ public class ProductController {
 
     @GetMapping
     @CanReadProducts
-    public PageModel<ProductSummaryOutput> filter(ProductFilter productFilter) {
-        return productQueryService.filter(productFilter);
+    public ResponseEntity<PageModel<?>> filter(ProductFilter productFilter, WebRequest webRequest) {
+        if (StringUtils.isNotBlank(productFilter.getTerm())) {
+            return ResponseEntity.ok(render(productQueryService.filter(productFilter), productFilter.fieldSet()));
+        }
+
+        CacheControl cacheControl = CacheControl.noCache().cachePublic();
+        ResourceVersionOutput listVersion = productQueryService.findListVersion(productFilter);
+        String eTag = listETagOf(productFilter, listVersion.getVersion());
+
+        Optional<ResponseEntity<PageModel<?>>> notModified = ConditionalRequests.notModified(webRequest,
+                cacheControl, eTag, listVersion.getUpdatedAt());
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .lastModified(listVersion.getUpdatedAt().toInstant())
+                .body(render(productQueryService.filter(productFilter), productFilter.fieldSet()));
+    }
+
+    @GetMapping(params = "ids")
+    @CanReadProducts
+    public List<ProductDetailOutput> findAllById(@RequestParam List<UUID> ids) {
+        return productQueryService.findAllById(ids);
+    }
+
+    @GetMapping("/suggest")
+    @CanReadProducts
+    public ResponseEntity<List<ProductSuggestionOutput>> suggest(@RequestParam("q") String query,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                .body(productQueryService.suggest(query, limit));
+    }
+
+    @GetMapping("/facets")
+    @CanReadProducts
+    public ProductFacetsOutput facets(ProductFilter productFilter) {
+        return productQueryService.facets(productFilter);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @CanReadProducts
+    public ResponseEntity<StreamingResponseBody> export(ProductFilter productFilter) {
+        ProductFieldSet fieldSet = productFilter.fieldSet();
+        StreamingResponseBody body = outputStream -> productQueryService.export(productFilter, product -> {
+            try {
+                outputStream.write(jsonMapper.writeValueAsBytes(sparseFieldsRenderer.render(product, fieldSet)));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping("/{productId}/restock")
@@ -99,4 +183,17 @@ public class ProductController {
         productManagementApplicationService.withdraw(productId, productQuantityModel.getQuantity());
     }
 
+    private PageModel<?> render(PageModel<ProductSummaryOutput> page, ProductFieldSet fieldSet) {
+        return fieldSet.isAll() ? page : sparseFieldsRenderer.render(page, fieldSet);
+    }
+
+    private String listETagOf(ProductFilter productFilter, Long version) {
+        return "products:filter:" + productFilter.cacheKey() + ":v:" + version;
+    }
+
+    private String eTagOf(UUID productId, Long version, ProductFieldSet fieldSet) {
+        String eTag = "product:id:" + productId + ":v:" + version;
+        return fieldSet.isAll() ? eTag : eTag + ":fields:" + fieldSet.cacheKey();
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.algaworks.algashop.product.catalog.presentation;
 
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 import com.algaworks.algashop.product.catalog.application.product.management.ImageInput;
 import com.algaworks.algashop.product.catalog.application.product.management.ProductImageManagementApplicationService;
 import com.algaworks.algashop.product.catalog.application.product.query.ImageOutput;
@@ -8,10 +9,15 @@ import com.algaworks.algashop.product.catalog.infrastructure.security.SecurityAn
 import com.algaworks.algashop.product.catalog.infrastructure.security.SecurityAnnotations.CanWriteProductsStock;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -47,14 +53,45 @@ public class ProductImagesController {
 
     @GetMapping
     @CanReadProducts
-    public List<ImageOutput> getAll(@PathVariable UUID productId) {
-        return queryService.getAllImages(productId);
+    public ResponseEntity<List<ImageOutput>> getAll(@PathVariable UUID productId, WebRequest webRequest) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+        ResourceVersionOutput version = queryService.getVersion(productId);
+
+        Optional<ResponseEntity<List<ImageOutput>>> notModified = ConditionalRequests.notModified(webRequest,
+                cacheControl, eTagOf(version), version.getUpdatedAt());
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+
+        return ConditionalRequests.ok(cacheControl, eTagOf(version), version.getUpdatedAt())
+                .body(queryService.getAllImages(productId));
     }
 
     @GetMapping("{imageId}")
     @CanReadProducts
-    public ImageOutput getOne(@PathVariable UUID productId, @PathVariable UUID imageId) {
-        return queryService.getImage(productId, imageId);
+    public ResponseEntity<ImageOutput> getOne(@PathVariable UUID productId, @PathVariable UUID imageId,
+                                              WebRequest webRequest) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+        ResourceVersionOutput version = queryService.getVersion(productId);
+
+        Optional<ResponseEntity<ImageOutput>> notModified = ConditionalRequests.notModified(webRequest,
+                cacheControl, eTagOf(version, imageId), version.getUpdatedAt());
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+
+        return ConditionalRequests.ok(cacheControl, eTagOf(version, imageId), version.getUpdatedAt())
+                .body(queryService.getImage(productId, imageId));
+    }
+
+    private String eTagOf(ResourceVersionOutput version) {
+        return "product:id:" + version.getId() + ":v:" + version.getVersion() + ":images";
+    }
+
+    private String eTagOf(ResourceVersionOutput version, UUID imageId) {
+        return eTagOf(version) + ":" + imageId;
     }
 
 }
@@ -0,0 +1,39 @@
+package com.algaworks.algashop.product.catalog.presentation;
+
+import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFieldSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+@Component
+@RequiredArgsConstructor
+public class SparseFieldsRenderer {
+
+    private final JsonMapper jsonMapper;
+
+    public Object render(Object output, ProductFieldSet fields) {
+        if (fields.isAll()) {
+            return output;
+        }
+        ObjectNode node = jsonMapper.valueToTree(output);
+        node.retain(fields.getNames());
+        return node;
+    }
+
+    public PageModel<Object> render(PageModel<?> page, ProductFieldSet fields) {
+        return PageModel.<Object>builder()
+                .number(page.getNumber())
+                .size(page.getSize())
+                .totalPages(page.getTotalPages())
+                .totalElements(page.getTotalElements())
+                .totalElementsExact(page.isTotalElementsExact())
+                .nextCursor(page.getNextCursor())
+                .content(page.getContent().stream()
+                        .map(item -> render(item, fields))
+                        .toList())
+                .build();
+    }
+
+}
@@ -2,6 +2,7 @@ package com.algaworks.algashop.product.catalog.contract.base;
 
 import com.algaworks.algashop.product.catalog.application.PageModel;
 import com.algaworks.algashop.product.catalog.application.ResourceNotFoundException;
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
 import com.algaworks.algashop.product.catalog.application.category.CategoryOutputTestFixture;
 import com.algaworks.algashop.product.catalog.application.category.management.CategoryManagementApplicationService;
 import com.algaworks.algashop.product.catalog.application.category.query.CategoryDetailOutput;
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -69,6 +71,9 @@ public class CategoryBase {
                 });
 
 
+        Mockito.when(categoryQueryService.findListVersion())
+                .thenReturn(ResourceVersionOutput.builder().version(1L).updatedAt(OffsetDateTime.now()).build());
+
         Mockito.when(categoryQueryService.findById(validCategoryId))
                 .thenReturn(CategoryOutputTestFixture.aCategory().id(validCategoryId).build());
 
@@ -0,0 +1,63 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static com.algaworks.algashop.product.catalog.infrastructure.cache.InstrumentedCache.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class InstrumentedCacheTest {
+
+    private static final String CACHE_NAME = "algashop:products:v1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCache remote = spy(new ConcurrentMapCache(CACHE_NAME));
+    private final Cache cache = new InstrumentedCache(remote, meterRegistry);
+
+    @Test
+    public void shouldRecordHitsAndMissesPerCache() {
+        remote.put("present", "value");
+
+        cache.get("present");
+        cache.get("absent");
+        cache.get("present");
+
+        assertThat(count(GET, HIT)).isEqualTo(2);
+        assertThat(count(GET, MISS)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRecordLoaderCallAsMiss() {
+        assertThat(cache.get("key", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("key", () -> "reloaded")).isEqualTo("loaded");
+
+        assertThat(count(GET, MISS)).isEqualTo(1);
+        assertThat(count(GET, HIT)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRecordPutsEvictsAndErrors() {
+        cache.put("key", "value");
+        cache.evict("key");
+        doThrow(new IllegalStateException()).when(remote).put("broken", "value");
+
+        assertThatThrownBy(() -> cache.put("broken", "value")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(count(PUT, SUCCESS)).isEqualTo(1);
+        assertThat(count(EVICT, SUCCESS)).isEqualTo(1);
+        assertThat(count(PUT, ERROR)).isEqualTo(1);
+    }
+
+    private long count(String operation, String result) {
+        Timer timer = meterRegistry.find(OPERATIONS_METRIC)
+                .tags("cache", CACHE_NAME, "operation", operation, "result", result)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+}
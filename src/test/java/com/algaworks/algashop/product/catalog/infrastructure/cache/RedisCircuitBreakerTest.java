@@ -0,0 +1,131 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RedisCircuitBreakerTest {
+
+    private static final String CACHE_NAME = "algashop:products:v1";
+
+    private final RedisConnectionFactory redisConnectionFactory = mock(RedisConnectionFactory.class);
+    private final RedisConnection redisConnection = mock(RedisConnection.class);
+    private final RedisCircuitBreakerProperties properties = new RedisCircuitBreakerProperties();
+
+    private ConcurrentMapCache remote;
+    private RedisCircuitBreaker circuitBreaker;
+    private Cache cache;
+
+    @BeforeEach
+    public void beforeEach() {
+        properties.setFailureThreshold(2);
+        properties.setHalfOpenTrials(1);
+        properties.setOpenDuration(Duration.ZERO);
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+
+        remote = spy(new ConcurrentMapCache(CACHE_NAME));
+        circuitBreaker = new RedisCircuitBreaker(redisConnectionFactory, properties, new SimpleMeterRegistry(),
+                Clock.systemUTC(), false);
+        cache = new CircuitBreakingCache(remote, circuitBreaker);
+    }
+
+    @Test
+    public void shouldBypassRedisAfterRepeatedFailures() {
+        doThrow(new RedisConnectionFailureException("down")).when(remote).get("key");
+
+        fail(2);
+        clearInvocations(remote);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(cache.get("key", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("key")).isNull();
+        verify(remote, never()).get("key");
+        verify(remote, never()).put(any(), any());
+    }
+
+    @Test
+    public void shouldNotCountLoaderFailuresAsRedisFailures() {
+        for (int i = 0; i < 3; i++) {
+            try {
+                cache.get("key", () -> {
+                    throw new IllegalStateException("mongo down");
+                });
+            } catch (RuntimeException ignored) {
+            }
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void shouldCloseAfterSuccessfulProbeAndTrialAndReplayEvictions() {
+        remote.put("stale", "value");
+        doThrow(new RedisConnectionFailureException("down")).when(remote).get("key");
+        fail(2);
+
+        cache.evict("stale");
+        assertThat(remote.get("stale")).isNotNull();
+
+        circuitBreaker.probe();
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+
+        doReturn(null).when(remote).get("key");
+        cache.get("key");
+
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(remote.get("stale")).isNull();
+        assertThat(circuitBreaker.deferredEvictionCount()).isZero();
+    }
+
+    @Test
+    public void shouldPublishDeferredInvalidationsAfterClosing() {
+        doThrow(new RedisConnectionFailureException("down")).when(remote).get("key");
+        fail(2);
+
+        circuitBreaker.deferPublication("channel", CACHE_NAME, "evict", "clear");
+        circuitBreaker.deferPublication("channel", CACHE_NAME, "evict", "clear");
+        assertThat(circuitBreaker.deferredEvictionCount()).isEqualTo(1);
+
+        circuitBreaker.probe();
+        doReturn(null).when(remote).get("key");
+        cache.get("key");
+
+        verify(redisConnection).publish("channel".getBytes(StandardCharsets.UTF_8),
+                "evict".getBytes(StandardCharsets.UTF_8));
+        assertThat(circuitBreaker.deferredEvictionCount()).isZero();
+    }
+
+    @Test
+    public void shouldReopenWhenProbeFails() {
+        doThrow(new RedisConnectionFailureException("down")).when(remote).get("key");
+        fail(2);
+        doThrow(new RedisConnectionFailureException("still down")).when(redisConnection).ping();
+
+        circuitBreaker.probe();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            try {
+                cache.get("key");
+            } catch (RedisConnectionFailureException ignored) {
+            }
+        }
+    }
+
+}
@@ -0,0 +1,278 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.algaworks.algashop.product.catalog.domain.model.product.ProductNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.AbstractCacheInvoker;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StampedeProtectedCacheTest {
+
+    private final Map<Object, Object> store = new ConcurrentHashMap<>();
+    private final RedisCache redisCache = mock(RedisCache.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StampedeProtectedCache cache;
+
+    @BeforeEach
+    public void beforeEach() {
+        when(redisCache.getName()).thenReturn("algashop:products:v1");
+        when(redisCache.get(any())).thenAnswer(invocation -> {
+            Object value = store.get(invocation.getArgument(0));
+            return value == null ? null : new SimpleValueWrapper(value);
+        });
+        doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(redisCache).put(any(), any());
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        var policy = new CacheStampedeProperties.Policy();
+        policy.setEarlyRefresh(false);
+        cache = new StampedeProtectedCache(redisCache, RedisCacheConfiguration.defaultCacheConfig(),
+                stringRedisTemplate, policy, "lease:", meterRegistry);
+    }
+
+    @Test
+    public void shouldLoadOnceForConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("key", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100);
+                        return "value";
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(store).containsEntry("key", "value");
+    }
+
+    @Test
+    public void shouldLoadMissingProductOnceWithoutReportingCacheError() {
+        AtomicInteger loads = new AtomicInteger();
+        UUID productId = UUID.randomUUID();
+        var invoker = new CacheInvoker(new ResilienceCacheErrorHandler(meterRegistry));
+
+        assertThatThrownBy(() -> invoker.get(cache, productId, () -> {
+            loads.incrementAndGet();
+            throw new ProductNotFoundException(productId);
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(ProductNotFoundException.class);
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.find(ResilienceCacheErrorHandler.ERRORS_METRIC).counters()).isEmpty();
+        verify(redisCache, never()).put(any(), any());
+    }
+
+    @Test
+    public void shouldNotAskRedisForRemainingTtlOnEveryHit() {
+        var policy = new CacheStampedeProperties.Policy();
+        var refreshing = new StampedeProtectedCache(redisCache,
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(1)),
+                stringRedisTemplate, policy, "lease:", meterRegistry);
+        when(stringRedisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(3_600_000L);
+        AtomicInteger loads = new AtomicInteger();
+        store.put("foreign", "value");
+
+        for (int i = 0; i < 5; i++) {
+            refreshing.get("local", () -> "value" + loads.incrementAndGet());
+            refreshing.get("foreign", () -> "value" + loads.incrementAndGet());
+        }
+
+        assertThat(loads).hasValue(1);
+        verify(stringRedisTemplate, times(1)).getExpire(anyString(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotAskRedisForRemainingTtlAgainWhileEntryIsStaleOrUnexpiring() {
+        var refreshing = staleWhileRevalidateCache(Runnable::run);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(stringRedisTemplate.getExpire(eq("algashop:products:v1::stale"), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(Duration.ofMinutes(20).toMillis());
+        when(stringRedisTemplate.getExpire(eq("algashop:products:v1::persistent"), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(-1L);
+        store.put("stale", "stale");
+        store.put("persistent", "persistent");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(refreshing.get("stale", () -> "reloaded")).isEqualTo("stale");
+            assertThat(refreshing.get("persistent", () -> "reloaded")).isEqualTo("persistent");
+        }
+
+        verify(stringRedisTemplate, times(2)).getExpire(anyString(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldRefreshOncePastSoftTtl() {
+        var refreshing = staleWhileRevalidateCache(Runnable::run);
+        store.put("key", "stale");
+        when(stringRedisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(Duration.ofMinutes(20).toMillis());
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = refreshing.get("key", () -> "reloaded-" + loads.incrementAndGet());
+        String second = refreshing.get("key", () -> "reloaded-" + loads.incrementAndGet());
+
+        assertThat(first).isEqualTo("stale");
+        assertThat(second).isEqualTo("reloaded-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void shouldServeStaleEntryWithoutWaitingForRefresh() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        var refreshing = staleWhileRevalidateCache(executor);
+        store.put("key", "stale");
+        when(stringRedisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(Duration.ofMinutes(20).toMillis());
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            String value = refreshing.get("key", () -> {
+                release.await(5, TimeUnit.SECONDS);
+                return "reloaded";
+            });
+
+            assertThat(value).isEqualTo("stale");
+            assertThat(store).containsEntry("key", "stale");
+            release.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(store).containsEntry("key", "reloaded");
+    }
+
+    @Test
+    public void shouldServeStaleEntryWhileAnotherNodeRefreshes() {
+        var refreshing = staleWhileRevalidateCache(Runnable::run);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        store.put("key", "stale");
+        when(stringRedisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(Duration.ofMinutes(20).toMillis());
+
+        String value = refreshing.get("key", () -> "reloaded");
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(meterRegistry.counter(StampedeProtectedCache.STAMPEDE_METRIC,
+                "cache", "algashop:products:v1", "outcome", "stale-served").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldServeStaleEntryWhenRefreshFails() {
+        var refreshing = staleWhileRevalidateCache(Runnable::run);
+        store.put("key", "stale");
+        when(stringRedisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(Duration.ofMinutes(20).toMillis());
+
+        String value = refreshing.get("key", () -> {
+            throw new IllegalStateException("mongo down");
+        });
+
+        assertThat(value).isEqualTo("stale");
+    }
+
+    @Test
+    public void shouldServeCachedEntryWhenEarlyRefreshFailsWithoutStaleWhileRevalidate() {
+        var policy = new CacheStampedeProperties.Policy();
+        policy.setBeta(1_000_000_000);
+        var refreshing = new StampedeProtectedCache(redisCache,
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(6)),
+                stringRedisTemplate, policy, "lease:", meterRegistry);
+        store.put("key", "cached");
+        when(stringRedisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenReturn(1_000L);
+
+        String value = refreshing.get("key", () -> {
+            throw new IllegalStateException("mongo down");
+        });
+
+        assertThat(value).isEqualTo("cached");
+        assertThat(meterRegistry.counter(StampedeProtectedCache.STAMPEDE_METRIC,
+                "cache", "algashop:products:v1", "outcome", "refresh-failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldWaitForLeaseHolderOnAnotherNode() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        store.put("key", "loaded-elsewhere");
+        when(redisCache.get(any()))
+                .thenReturn(null)
+                .thenReturn(new SimpleValueWrapper("loaded-elsewhere"));
+
+        String value = cache.get("key", () -> "loaded-here");
+
+        assertThat(value).isEqualTo("loaded-elsewhere");
+        verify(redisCache, never()).put(any(), any());
+    }
+
+    private StampedeProtectedCache staleWhileRevalidateCache(Executor refreshExecutor) {
+        var policy = new CacheStampedeProperties.Policy();
+        policy.setEarlyRefresh(false);
+        return new StampedeProtectedCache(redisCache,
+                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(60)),
+                stringRedisTemplate, policy,
+                new StaleWhileRevalidateProperties.Policy(Duration.ofMinutes(10), Duration.ofMinutes(60)),
+                refreshExecutor, key -> {
+                }, "lease:", meterRegistry);
+    }
+
+    private static class CacheInvoker extends AbstractCacheInvoker {
+
+        CacheInvoker(CacheErrorHandler errorHandler) {
+            super(errorHandler);
+        }
+
+        <T> T get(Cache cache, Object key, Callable<T> valueLoader) {
+            return doGet(cache, key, valueLoader);
+        }
+    }
+
+}
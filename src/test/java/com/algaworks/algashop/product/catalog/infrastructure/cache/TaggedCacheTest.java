@@ -0,0 +1,60 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryMinimalOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaggedCacheTest {
+
+    private static final String CACHE_NAME = "algashop:products:v1";
+
+    private final CacheTagIndex cacheTagIndex = mock(CacheTagIndex.class);
+
+    private ConcurrentMapCache remote;
+    private TaggedCache cache;
+
+    @BeforeEach
+    public void beforeEach() {
+        remote = new ConcurrentMapCache(CACHE_NAME);
+        cache = new TaggedCache(remote, cacheTagIndex);
+    }
+
+    @Test
+    public void shouldTagLoadedEntryOnlyOnMiss() {
+        UUID productId = UUID.randomUUID();
+        ProductDetailOutput product = aProductIn(UUID.randomUUID(), productId);
+
+        cache.get(productId, () -> product);
+        cache.get(productId, () -> product);
+
+        verify(cacheTagIndex, times(1)).tag(CACHE_NAME, productId, product);
+        assertThat(remote.get(productId).get()).isEqualTo(product);
+    }
+
+    @Test
+    public void shouldStillCacheWhenTaggingFails() {
+        UUID productId = UUID.randomUUID();
+        ProductDetailOutput product = aProductIn(UUID.randomUUID(), productId);
+        doThrow(new IllegalStateException("unavailable")).when(cacheTagIndex).tag(any(), any(), any());
+
+        cache.put(productId, product);
+
+        assertThat(remote.get(productId).get()).isEqualTo(product);
+    }
+
+    private ProductDetailOutput aProductIn(UUID categoryId, UUID productId) {
+        return ProductDetailOutput.builder()
+                .id(productId)
+                .category(CategoryMinimalOutput.builder().id(categoryId).build())
+                .build();
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheManagerTest {
+
+    private static final String CACHE_NAME = "algashop:products:v1";
+    private static final String LIST_CACHE_NAME = "algashop:categories:v1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final RedisCacheManager redisCacheManager = mock(RedisCacheManager.class);
+    private final NearCacheProperties properties = new NearCacheProperties();
+
+    private ConcurrentMapCache remote;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    public void beforeEach() {
+        remote = spy(new ConcurrentMapCache(CACHE_NAME));
+        when(redisCacheManager.getCache(CACHE_NAME)).thenReturn(remote);
+        var serializers = new CacheValueSerializers(meterRegistry);
+        serializers.pairFor(CACHE_NAME, String.class);
+        serializers.pairFor(LIST_CACHE_NAME, ArrayList.class, String.class);
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, properties,
+                new CacheStampedeProperties(), circuitBreaker(), staleWhileRevalidateProperties(), cacheTagIndex(),
+                serializers, meterRegistry);
+    }
+
+    @Test
+    public void shouldServeRepeatedReadsFromLocalLevel() {
+        remote.put("key", "value");
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        assertThat(cache.get("key").get()).isEqualTo("value");
+        assertThat(cache.get("key").get()).isEqualTo("value");
+
+        verify(remote, times(1)).get("key");
+        assertThat(gets("l1", "hit")).isEqualTo(1.0);
+        assertThat(gets("l2", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void shouldServeDecodedLocalValueDetachedFromTheWrittenInstance() {
+        var listRemote = new ConcurrentMapCache(LIST_CACHE_NAME);
+        when(redisCacheManager.getCache(LIST_CACHE_NAME)).thenReturn(listRemote);
+        Cache cache = cacheManager.getCache(LIST_CACHE_NAME);
+        List<String> written = new ArrayList<>(List.of("value"));
+        cache.put("key", written);
+
+        written.add("mutated");
+        Object first = cache.get("key").get();
+        Object second = cache.get("key").get();
+
+        assertThat(first).isEqualTo(List.of("value"));
+        assertThat(second).isSameAs(first);
+        assertThat(gets("l1", "hit", LIST_CACHE_NAME)).isEqualTo(2.0);
+    }
+
+    @Test
+    public void shouldPublishInvalidationOnEvict() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        cache.evict("key");
+
+        verify(stringRedisTemplate).convertAndSend(eq(properties.getInvalidationChannel()), any(String.class));
+    }
+
+    @Test
+    public void shouldDropLocalEntryWhenAnotherNodeEvicts() {
+        remote.put("key", "old");
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.get("key");
+
+        remote.put("key", "new");
+        cacheManager.onMessage(message("other-node\tEVICT\t" + CACHE_NAME + "\tkey"), null);
+
+        assertThat(cache.get("key").get()).isEqualTo("new");
+    }
+
+    @Test
+    public void shouldBypassLocalLevelForCachesNotConfigured() {
+        var filterCache = new ConcurrentMapCache("algashop:products-filter:v1");
+        when(redisCacheManager.getCache(filterCache.getName())).thenReturn(filterCache);
+
+        assertThat(cacheManager.getCache(filterCache.getName())).isSameAs(filterCache);
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(properties.getInvalidationChannel().getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double gets(String level, String result) {
+        return gets(level, result, CACHE_NAME);
+    }
+
+    private double gets(String level, String result, String cacheName) {
+        return meterRegistry.counter(TwoLevelCache.GETS_METRIC,
+                "cache", cacheName, "level", level, "result", result).count();
+    }
+
+    private StaleWhileRevalidateProperties staleWhileRevalidateProperties() {
+        var refreshProperties = new StaleWhileRevalidateProperties();
+        refreshProperties.setEnabled(false);
+        return refreshProperties;
+    }
+
+    private CacheTagIndex cacheTagIndex() {
+        var tagProperties = new CacheTagProperties();
+        tagProperties.setEnabled(false);
+        return new CacheTagIndex(redisCacheManager, mock(RedisConnectionFactory.class), circuitBreaker(), tagProperties);
+    }
+
+    private RedisCircuitBreaker circuitBreaker() {
+        return new RedisCircuitBreaker(mock(RedisConnectionFactory.class), new RedisCircuitBreakerProperties(),
+                meterRegistry, Clock.systemUTC(), false);
+    }
+
+}
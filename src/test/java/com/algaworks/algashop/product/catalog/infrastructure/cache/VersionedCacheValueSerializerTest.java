@@ -0,0 +1,85 @@
+package com.algaworks.algashop.product.catalog.infrastructure.cache;
+
+import com.algaworks.algashop.product.catalog.application.PageModel;
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryDetailOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductSummaryOutput;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedCacheValueSerializerTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    public void shouldRoundTripGenericPage() {
+        var serializer = new VersionedCacheValueSerializer(objectMapper,
+                objectMapper.getTypeFactory().constructParametricType(PageModel.class, ProductSummaryOutput.class));
+        var page = PageModel.<ProductSummaryOutput>builder()
+                .number(0)
+                .size(20)
+                .totalElements(20)
+                .totalPages(1)
+                .content(IntStream.range(0, 20)
+                        .mapToObj(i -> ProductSummaryOutput.builder()
+                                .id(UUID.randomUUID())
+                                .name("Product " + i)
+                                .brand("AlgaShop")
+                                .salePrice(new BigDecimal("19.90"))
+                                .build())
+                        .toList())
+                .build();
+
+        byte[] bytes = serializer.serialize(page);
+
+        @SuppressWarnings("unchecked")
+        var decoded = (PageModel<ProductSummaryOutput>) serializer.deserialize(bytes);
+        assertThat(decoded).isNotNull();
+        assertThat(decoded.getContent()).hasSize(20);
+        assertThat(decoded.getContent().getFirst()).isInstanceOf(ProductSummaryOutput.class);
+        assertThat(decoded.getContent().getFirst().getName()).isEqualTo("Product 0");
+    }
+
+    @Test
+    public void shouldTreatLegacyJdkEntriesAsMisses() {
+        var serializer = serializerFor(ProductDetailOutput.class);
+        byte[] legacy = new JdkSerializationRedisSerializer()
+                .serialize(ProductDetailOutput.builder().id(UUID.randomUUID()).build());
+
+        assertThat(serializer.deserialize(legacy)).isNull();
+    }
+
+    @Test
+    public void shouldTreatEntriesOfAnotherTypeAsMisses() {
+        byte[] category = serializerFor(CategoryDetailOutput.class)
+                .serialize(CategoryDetailOutput.builder().id(UUID.randomUUID()).name("Books").build());
+
+        assertThat(serializerFor(ProductDetailOutput.class).deserialize(category)).isNull();
+    }
+
+    @Test
+    public void shouldTreatEntriesOfAnotherHeaderVersionAsMisses() {
+        var product = ProductDetailOutput.builder().id(UUID.randomUUID()).name("Pen").build();
+        var serializer = serializerFor(ProductDetailOutput.class);
+        byte[] bytes = serializer.serialize(product);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(product);
+
+        bytes[1] = VersionedCacheValueSerializer.HEADER_VERSION - 1;
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    private VersionedCacheValueSerializer serializerFor(Class<?> type) {
+        return new VersionedCacheValueSerializer(objectMapper, objectMapper.constructType(type));
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.algaworks.algashop.product.catalog.infrastructure.listener.cache;
+
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryProductsUpdatedEvent;
+import com.algaworks.algashop.product.catalog.application.category.event.CategoryUpdatedEvent;
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryMinimalOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductDetailOutput;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFieldSet;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductQueryService;
+import com.algaworks.algashop.product.catalog.application.utility.Mapper;
+import com.algaworks.algashop.product.catalog.domain.model.product.Product;
+import com.algaworks.algashop.product.catalog.domain.model.product.ProductStockChangedEvent;
+import com.algaworks.algashop.product.catalog.infrastructure.cache.CacheTagIndex;
+import com.algaworks.algashop.product.catalog.infrastructure.cache.CacheTagProperties;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryAdmissionControl;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryAdmissionProperties;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.product.ProductQueryServiceImpl;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.routing.MongoReadRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.*;
+
+import static com.algaworks.algashop.product.catalog.infrastructure.listener.cache.CacheInvalidationEventListener.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationEventListenerTest {
+
+    private static final ProductFieldSet SPARSE_FIELDS = ProductFieldSet.of("name,category", ProductFieldSet.DETAIL_FIELDS);
+
+    private final InMemoryCacheTagIndex cacheTagIndex = new InMemoryCacheTagIndex();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager() {
+        @Override
+        protected Cache createConcurrentMapCache(String name) {
+            return new ConcurrentMapCache(name, false) {
+                @Override
+                public void put(Object key, Object value) {
+                    super.put(key, value);
+                    cacheTagIndex.tag(name, key, value);
+                }
+            };
+        }
+    };
+    private final CacheInvalidationEventListener listener =
+            new CacheInvalidationEventListener(cacheManager, cacheTagIndex, new SimpleMeterRegistry());
+
+    private final MongoOperations details = mock(MongoOperations.class);
+    private final Map<UUID, UUID> categoryOfProduct = new HashMap<>();
+
+    private AnnotationConfigApplicationContext context;
+    private ProductQueryService productQueryService;
+
+    @BeforeEach
+    public void beforeEach() {
+        MongoReadRouter mongoReadRouter = mock(MongoReadRouter.class);
+        when(mongoReadRouter.details()).thenReturn(details);
+        Mapper mapper = mock(Mapper.class);
+        when(mapper.convert(any(), eq(ProductDetailOutput.class))).thenAnswer(invocation -> {
+            UUID productId = invocation.<Product>getArgument(0).getId();
+            return ProductDetailOutput.builder()
+                    .id(productId)
+                    .name("Product")
+                    .category(CategoryMinimalOutput.builder().id(categoryOfProduct.get(productId)).build())
+                    .build();
+        });
+
+        context = new AnnotationConfigApplicationContext();
+        context.register(CachingConfig.class);
+        context.registerBean(CacheManager.class, () -> cacheManager);
+        context.registerBean(ProductQueryServiceImpl.class, () -> new ProductQueryServiceImpl(mongoReadRouter,
+                new QueryAdmissionControl(new QueryAdmissionProperties(), new SimpleMeterRegistry()), mapper,
+                null, null, null, null, null, null, null));
+        context.refresh();
+        productQueryService = context.getBean(ProductQueryService.class);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        context.close();
+    }
+
+    @Test
+    public void shouldEvictSparseFieldEntriesWhenStockChanges() {
+        UUID productId = UUID.randomUUID();
+        UUID otherProductId = UUID.randomUUID();
+        storedProduct(productId, UUID.randomUUID());
+        storedProduct(otherProductId, UUID.randomUUID());
+        cache(PRODUCTS).put(productId, "product");
+        cache(PRODUCTS).put(otherProductId, "other");
+
+        productQueryService.findById(productId, SPARSE_FIELDS);
+        productQueryService.findById(otherProductId, SPARSE_FIELDS);
+        assertThat(cache(PRODUCTS_FIELDS).get(sparseKey(productId))).isNotNull();
+
+        listener.handle(ProductStockChangedEvent.builder()
+                .productId(productId)
+                .previousQuantity(5)
+                .newQuantity(3)
+                .build());
+
+        assertThat(cache(PRODUCTS).get(productId)).isNull();
+        assertThat(cache(PRODUCTS_FIELDS).get(sparseKey(productId))).isNull();
+        assertThat(cache(PRODUCTS).get(otherProductId)).isNotNull();
+        assertThat(cache(PRODUCTS_FIELDS).get(sparseKey(otherProductId))).isNotNull();
+    }
+
+    @Test
+    public void shouldEvictCategoryAndVersionWhenCategoryUpdated() {
+        UUID categoryId = UUID.randomUUID();
+        cache(CATEGORIES).put(categoryId, "category");
+        cache(CATEGORIES_VERSION).put(categoryId, "version");
+
+        listener.handle(new CategoryUpdatedEvent(categoryId, "Renamed", true));
+
+        assertThat(cache(CATEGORIES).get(categoryId)).isNull();
+        assertThat(cache(CATEGORIES_VERSION).get(categoryId)).isNull();
+    }
+
+    @Test
+    public void shouldInvalidateCascadedCategoryByTag() {
+        UUID categoryId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+        UUID otherProductId = UUID.randomUUID();
+        storedProduct(productId, categoryId);
+        storedProduct(otherProductId, UUID.randomUUID());
+        cache(PRODUCTS).put(productId, "product");
+        cache(PRODUCTS_VERSION).put(productId, "version");
+
+        productQueryService.findById(productId, SPARSE_FIELDS);
+        productQueryService.findById(otherProductId, SPARSE_FIELDS);
+
+        listener.handle(new CategoryProductsUpdatedEvent(categoryId, List.of(productId)));
+
+        assertThat(cache(PRODUCTS_FIELDS).get(sparseKey(productId))).isNull();
+        assertThat(cache(PRODUCTS).get(productId)).isNull();
+        assertThat(cache(PRODUCTS_VERSION).get(productId)).isNull();
+        assertThat(cache(PRODUCTS_FIELDS).get(sparseKey(otherProductId))).isNotNull();
+    }
+
+    @Test
+    public void shouldEvictEveryProductOfCascadedCategoryWhenTagIndexUnavailable() {
+        cacheTagIndex.available = false;
+
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID untouched = UUID.randomUUID();
+        cache(PRODUCTS).put(first, "first");
+        cache(PRODUCTS).put(second, "second");
+        cache(PRODUCTS).put(untouched, "untouched");
+
+        listener.handle(new CategoryProductsUpdatedEvent(UUID.randomUUID(), List.of(first, second)));
+
+        assertThat(cache(PRODUCTS).get(first)).isNull();
+        assertThat(cache(PRODUCTS).get(second)).isNull();
+        assertThat(cache(PRODUCTS).get(untouched)).isNotNull();
+    }
+
+    private void storedProduct(UUID productId, UUID categoryId) {
+        Product product = mock(Product.class);
+        when(product.getId()).thenReturn(productId);
+        categoryOfProduct.put(productId, categoryId);
+        when(details.findOne(argThat((Query query) -> query != null && productId.equals(query.getQueryObject().get("id"))),
+                eq(Product.class))).thenReturn(product);
+    }
+
+    private String sparseKey(UUID productId) {
+        return productId + ":" + SPARSE_FIELDS.cacheKey();
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+    }
+
+    private class InMemoryCacheTagIndex extends CacheTagIndex {
+
+        private final Map<String, Map<String, Set<Object>>> members = new HashMap<>();
+        private boolean available = true;
+
+        InMemoryCacheTagIndex() {
+            super(null, null, null, new CacheTagProperties());
+        }
+
+        @Override
+        public void tag(String cacheName, Object key, Object value) {
+            tagsOf(value).forEach(tag -> members.computeIfAbsent(tag, t -> new HashMap<>())
+                    .computeIfAbsent(cacheName, name -> new LinkedHashSet<>())
+                    .add(key));
+        }
+
+        @Override
+        public Map<String, List<String>> invalidate(String tag) {
+            checkAvailable();
+            Map<String, List<String>> evicted = new HashMap<>();
+            members.getOrDefault(tag, Map.of()).forEach((cacheName, keys) -> {
+                keys.forEach(cache(cacheName)::evict);
+                evicted.put(cacheName, keys.stream().map(String::valueOf).toList());
+            });
+            members.remove(tag);
+            return evicted;
+        }
+
+        @Override
+        public List<String> delete(String cacheName, Collection<?> keys) {
+            checkAvailable();
+            keys.forEach(cache(cacheName)::evict);
+            return keys.stream().map(String::valueOf).toList();
+        }
+
+        private void checkAvailable() {
+            if (!available) {
+                throw new IllegalStateException("Redis circuit breaker is open");
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence;
+
+import com.algaworks.algashop.product.catalog.application.InvalidFilterException;
+import com.algaworks.algashop.product.catalog.application.QueryBudgetExceededException;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
+import com.mongodb.MongoExecutionTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.UncategorizedDataAccessException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryAdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryAdmissionControl admissionControl =
+            new QueryAdmissionControl(new QueryAdmissionProperties(), meterRegistry);
+
+    @Test
+    public void shouldRejectDeepOffsetWithoutCursor() {
+        var filter = new ProductFilter();
+        filter.setSize(100);
+        filter.setPage(101);
+
+        assertThatThrownBy(() -> admissionControl.admit(QueryType.PRODUCT_FILTER, filter))
+                .isInstanceOf(InvalidFilterException.class);
+        assertThat(rejections("product-filter", "offset")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void shouldAdmitDeepPageWhenPaginatingByCursor() {
+        var filter = new ProductFilter();
+        filter.setSize(100);
+        filter.setPage(500);
+
+        assertThatNoException().isThrownBy(() -> admissionControl.admit(QueryType.PRODUCT_FILTER, filter, true));
+    }
+
+    @Test
+    public void shouldRejectOversizedPage() {
+        var filter = new ProductFilter();
+        filter.setSize(1_000);
+
+        assertThatThrownBy(() -> admissionControl.admit(QueryType.PRODUCT_FILTER, filter))
+                .isInstanceOf(InvalidFilterException.class);
+        assertThat(rejections("product-filter", "page-size")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void shouldTranslateServerTimeoutIntoBudgetExceeded() {
+        var timeout = new MongoExecutionTimeoutException(50, "operation exceeded time limit");
+
+        assertThatThrownBy(() -> admissionControl.execute(QueryType.PRODUCT_FACETS, () -> {
+            throw new UncategorizedMongoDbException(timeout.getMessage(), timeout);
+        })).isInstanceOf(QueryBudgetExceededException.class);
+        assertThat(rejections("product-facets", "budget")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void shouldPropagateOtherFailures() {
+        assertThatThrownBy(() -> admissionControl.execute(QueryType.PRODUCT_FILTER, () -> {
+            throw new UncategorizedDataAccessException("boom", null) {};
+        })).isNotInstanceOf(QueryBudgetExceededException.class);
+    }
+
+    private double rejections(String query, String reason) {
+        return meterRegistry.counter(QueryAdmissionControl.REJECTIONS_METRIC, "query", query, "reason", reason).count();
+    }
+
+}
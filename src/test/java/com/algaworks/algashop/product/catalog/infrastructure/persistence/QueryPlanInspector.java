@@ -0,0 +1,95 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class QueryPlanInspector {
+
+    public static final long MAX_IN_MEMORY_SORT = Long.getLong("algashop.explain.max-in-memory-sort", 1_000L);
+
+    private static final Set<String> IGNORED_KEYS = Set.of("rejectedPlans", "allPlansExecution");
+
+    private QueryPlanInspector() {
+    }
+
+    public static QueryPlan inspect(Document explain) {
+        var collector = new Collector();
+        collector.visit(explain);
+        return new QueryPlan(collector.stages, collector.collectionScan, collector.largestInMemorySort);
+    }
+
+    public record QueryPlan(List<String> stages, boolean collectionScan, long largestInMemorySort) {
+
+        public boolean isAcceptable() {
+            return !collectionScan && largestInMemorySort <= MAX_IN_MEMORY_SORT;
+        }
+
+        public String report(String shape) {
+            return String.format("%-8s | %s | stages=%s | inMemorySort=%d",
+                    isAcceptable() ? "OK" : "REJECTED", shape, stages, largestInMemorySort);
+        }
+
+    }
+
+    private static class Collector {
+
+        private final List<String> stages = new ArrayList<>();
+        private boolean collectionScan;
+        private long largestInMemorySort;
+
+        private void visit(Object node) {
+            if (node instanceof Document document) {
+                visitDocument(document);
+            } else if (node instanceof List<?> list) {
+                list.forEach(this::visit);
+            }
+        }
+
+        private void visitDocument(Document document) {
+            if (document.get("stage") instanceof String stage) {
+                if (!stages.contains(stage)) {
+                    stages.add(stage);
+                }
+                if ("COLLSCAN".equals(stage)) {
+                    collectionScan = true;
+                }
+                if ("SORT".equals(stage)) {
+                    recordSort(sortedDocuments(document));
+                }
+            }
+
+            if (document.containsKey("$sort") && document.get("nReturned") instanceof Number sorted) {
+                if (!stages.contains("$sort")) {
+                    stages.add("$sort");
+                }
+                recordSort(sorted.longValue());
+            }
+
+            document.forEach((key, value) -> {
+                if (!IGNORED_KEYS.contains(key)) {
+                    visit(value);
+                }
+            });
+        }
+
+        private long sortedDocuments(Document sortStage) {
+            if (sortStage.get("inputStage") instanceof Document input
+                    && input.get("nReturned") instanceof Number nReturned) {
+                return nReturned.longValue();
+            }
+            if (sortStage.get("nReturned") instanceof Number nReturned) {
+                return nReturned.longValue();
+            }
+            return 0L;
+        }
+
+        private void recordSort(long sortedDocuments) {
+            largestInMemorySort = Math.max(largestInMemorySort, sortedDocuments);
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.category;
+
+import com.algaworks.algashop.product.catalog.TestcontainerMongoDBConfig;
+import com.algaworks.algashop.product.catalog.application.category.query.CategoryFilter;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.MongoConfig;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryPlanInspector;
+import com.mongodb.ExplainVerbosity;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.mongodb.test.autoconfigure.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({MongoConfig.class, TestcontainerMongoDBConfig.class})
+@Slf4j
+class CategoryQueryShapeIT {
+
+    private static final int SYNTHETIC_CATEGORIES = 2_000;
+    private static final String SYNTHETIC_PREFIX = "QueryShape";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void beforeEach() {
+        var categories = mongoTemplate.getCollection("categories");
+        var synthetic = new Document("name", new Document("$regex", "^" + SYNTHETIC_PREFIX));
+        if (categories.countDocuments(synthetic) >= SYNTHETIC_CATEGORIES) {
+            return;
+        }
+
+        List<Document> documents = new ArrayList<>(SYNTHETIC_CATEGORIES);
+        for (int i = 0; i < SYNTHETIC_CATEGORIES; i++) {
+            documents.add(new Document("_id", UUID.randomUUID())
+                    .append("name", SYNTHETIC_PREFIX + (i % 20 == 0 ? " Electronics " : " Misc ") + i)
+                    .append("enabled", i % 4 != 0)
+                    .append("version", 0L)
+                    .append("createdAt", new Date())
+                    .append("updatedAt", new Date()));
+        }
+        categories.insertMany(documents);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("shapes")
+    public void shouldServeShapeWithIndexes(String shape, CategoryFilter filter) {
+        var pageRequest = PageRequest.of(filter.getPage(), filter.getSize(),
+                CategoryQueryServiceImpl.sortWith(filter));
+        Query query = CategoryQueryServiceImpl.queryWith(filter).with(pageRequest);
+
+        Document explain = mongoTemplate.getCollection("categories")
+                .find(query.getQueryObject())
+                .sort(query.getSortObject())
+                .skip((int) query.getSkip())
+                .limit(query.getLimit())
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+
+        QueryPlanInspector.QueryPlan plan = QueryPlanInspector.inspect(explain);
+        log.info(plan.report(shape));
+
+        assertThat(plan.collectionScan())
+                .as("%s should not scan the whole collection: %s", shape, plan.stages())
+                .isFalse();
+        assertThat(plan.largestInMemorySort())
+                .as("%s sorts too many documents in memory", shape)
+                .isLessThanOrEqualTo(QueryPlanInspector.MAX_IN_MEMORY_SORT);
+    }
+
+    static Stream<Arguments> shapes() {
+        List<Arguments> shapes = new ArrayList<>();
+
+        for (String name : Arrays.asList(null, "electronics")) {
+            for (Boolean enabled : Arrays.asList(null, true, false)) {
+                for (CategoryFilter.SortType sortType : CategoryFilter.SortType.values()) {
+                    for (Sort.Direction direction : Sort.Direction.values()) {
+                        var filter = CategoryFilter.builder()
+                                .name(name)
+                                .enabled(enabled)
+                                .sortByProperty(sortType)
+                                .sortDirection(direction)
+                                .page(0)
+                                .size(15)
+                                .build();
+                        String shape = String.format("name=%s enabled=%s sort=%s %s",
+                                name != null, enabled, sortType, direction);
+                        shapes.add(Arguments.of(shape, filter));
+                    }
+                }
+            }
+        }
+
+        return shapes.stream();
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.product;
+
+import com.algaworks.algashop.product.catalog.application.product.query.ProductCursor;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductSummaryOutput;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPipelineCompilerTest {
+
+    private final ProductPipelineCompiler compiler = new ProductPipelineCompiler(
+            new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+
+    @Test
+    public void shouldReuseTemplateForSameShape() {
+        var first = filterWithPriceFrom("10");
+        var second = filterWithPriceFrom("20");
+        second.setPage(3);
+
+        var firstPipeline = compiler.compile(first, Optional.empty());
+        var secondPipeline = compiler.compile(second, Optional.empty());
+
+        assertThat(compiler.compiledShapes()).isEqualTo(1);
+        assertThat(firstPipeline.predicates().get("salePrice", Document.class).get("$gte"))
+                .isNotEqualTo(secondPipeline.predicates().get("salePrice", Document.class).get("$gte"));
+        assertThat(firstPipeline.page().getFirst().get("$skip")).isEqualTo(0L);
+        assertThat(secondPipeline.page().getFirst().get("$skip")).isEqualTo(3L * second.getSize());
+    }
+
+    @Test
+    public void shouldCompileNewTemplateForDifferentShape() {
+        compiler.compile(filterWithPriceFrom("10"), Optional.empty());
+
+        var filter = filterWithPriceFrom("10");
+        filter.setCategoriesId(new UUID[]{UUID.randomUUID()});
+        compiler.compile(filter, Optional.empty());
+
+        filter.setSortDirection(Sort.Direction.DESC);
+        compiler.compile(filter, Optional.empty());
+
+        assertThat(compiler.compiledShapes()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldPageBeforeProjecting() {
+        var aggregations = new ProductFilterAggregations(compiler);
+
+        var pipeline = aggregations.page(filterWithPriceFrom("10"), Optional.empty())
+                .toPipeline(Aggregation.DEFAULT_CONTEXT)
+                .stream()
+                .map(stage -> stage.keySet().iterator().next())
+                .toList();
+
+        assertThat(pipeline).containsExactly("$match", "$sort", "$skip", "$limit", "$project");
+    }
+
+    @Test
+    public void shouldSeekBeforeSortingWhenPagingByCursor() {
+        var aggregations = new ProductFilterAggregations(compiler);
+        var filter = filterWithPriceFrom("10");
+        var last = ProductSummaryOutput.builder()
+                .id(UUID.randomUUID())
+                .addedAt(OffsetDateTime.now())
+                .build();
+        filter.setCursor(ProductCursor.after(last, filter).encode());
+
+        var pipeline = aggregations.page(filter, Optional.empty())
+                .toPipeline(Aggregation.DEFAULT_CONTEXT)
+                .stream()
+                .map(stage -> stage.keySet().iterator().next())
+                .toList();
+
+        assertThat(pipeline).containsExactly("$match", "$match", "$sort", "$limit", "$project");
+        assertThat(aggregations.countQuery(filter, Optional.empty()).orElseThrow().getQueryObject())
+                .doesNotContainKey("$or");
+    }
+
+    @Test
+    public void shouldFetchOneExtraRowToDetectNextPage() {
+        var filter = filterWithPriceFrom("10");
+
+        var pipeline = compiler.compile(filter, Optional.empty());
+
+        assertThat(pipeline.page().getLast().get("$limit")).isEqualTo(filter.getSize() + 1);
+    }
+
+    @Test
+    public void shouldFetchExactPageWhenSearchingTerm() {
+        var filter = new ProductFilter();
+        filter.setTerm("notebook");
+
+        var pipeline = compiler.compile(filter, Optional.of(List.of()));
+
+        assertThat(pipeline.page().getLast().get("$limit")).isEqualTo(filter.getSize());
+    }
+
+    @Test
+    public void shouldSortByScoreWhenSearchingTerm() {
+        var filter = new ProductFilter();
+        filter.setTerm("notebook");
+
+        var pipeline = compiler.compile(filter, Optional.of(List.of()));
+
+        assertThat(pipeline.sort().get("$sort", Document.class))
+                .isEqualTo(new Document("score", -1).append("_id", 1));
+    }
+
+    private ProductFilter filterWithPriceFrom(String priceFrom) {
+        var filter = new ProductFilter();
+        filter.setPriceFrom(new BigDecimal(priceFrom));
+        return filter;
+    }
+
+}
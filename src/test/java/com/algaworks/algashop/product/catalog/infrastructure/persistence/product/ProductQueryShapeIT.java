@@ -0,0 +1,237 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.product;
+
+import com.algaworks.algashop.product.catalog.TestcontainerMongoDBConfig;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductCursor;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductFilter;
+import com.algaworks.algashop.product.catalog.application.product.query.ProductSummaryOutput;
+import com.algaworks.algashop.product.catalog.domain.model.product.Product;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.MongoConfig;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.QueryPlanInspector;
+import com.mongodb.ExplainVerbosity;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.mongodb.test.autoconfigure.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperationContext;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({MongoConfig.class, TestcontainerMongoDBConfig.class})
+@Slf4j
+class ProductQueryShapeIT {
+
+    private static final int SYNTHETIC_PRODUCTS = 5_000;
+    private static final String SYNTHETIC_BRAND = "QueryShapeBrand";
+    private static final List<UUID> CATEGORIES = List.of(
+            UUID.fromString("3f1c2e8a-7b64-4d0e-9a51-0c2d6b8e4f10"),
+            UUID.fromString("8a2d4c6e-1f3b-4a5c-9e7d-2b4f6a8c0e12"),
+            UUID.fromString("c4e6a8b0-2d4f-4b6a-8c0e-4f6a8b0c2d14")
+    );
+
+    private static final List<BigDecimal> PRICE_FACET_BOUNDARIES = List.of(
+            new BigDecimal("0"), new BigDecimal("100"), new BigDecimal("500"), new BigDecimal("1000"));
+    private static final int FACET_LIMIT = 10;
+
+    private static final List<NamedPredicate> PREDICATES = List.of(
+            new NamedPredicate("term", f -> f.setTerm("notebook")),
+            new NamedPredicate("enabled", f -> f.setEnabled(true)),
+            new NamedPredicate("hasDiscount", f -> f.setHasDiscount(true)),
+            new NamedPredicate("inStock", f -> f.setInStock(true)),
+            new NamedPredicate("price", f -> {
+                f.setPriceFrom(new BigDecimal("100"));
+                f.setPriceTo(new BigDecimal("1000"));
+            }),
+            new NamedPredicate("categories", f -> f.setCategoriesId(new UUID[]{CATEGORIES.getFirst()})),
+            new NamedPredicate("addedAt", f -> {
+                f.setAddedAtFrom(OffsetDateTime.now().minusDays(30));
+                f.setAddedAtTo(OffsetDateTime.now());
+            })
+    );
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private ProductFilterAggregations productFilterAggregations;
+
+    @BeforeEach
+    public void beforeEach() {
+        productFilterAggregations = new ProductFilterAggregations(
+                new ProductPipelineCompiler(mongoTemplate.getConverter()));
+
+        var products = mongoTemplate.getCollection("products");
+        if (products.countDocuments(new Document("brand", SYNTHETIC_BRAND)) >= SYNTHETIC_PRODUCTS) {
+            return;
+        }
+
+        List<Document> documents = new ArrayList<>(SYNTHETIC_PRODUCTS);
+        for (int i = 0; i < SYNTHETIC_PRODUCTS; i++) {
+            documents.add(syntheticProduct(i));
+        }
+        products.insertMany(documents);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("shapes")
+    public void shouldServeShapeWithIndexes(String shape, PipelineKind kind, ProductFilter filter) {
+        List<Document> pipeline = kind.aggregationOf(productFilterAggregations, filter).toPipeline(context());
+
+        Document explain = mongoTemplate.getCollection("products")
+                .aggregate(pipeline)
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+
+        QueryPlanInspector.QueryPlan plan = QueryPlanInspector.inspect(explain);
+        log.info(plan.report(shape));
+
+        assertThat(plan.collectionScan())
+                .as("%s should not scan the whole collection: %s", shape, plan.stages())
+                .isFalse();
+        assertThat(plan.largestInMemorySort())
+                .as("%s sorts too many documents in memory", shape)
+                .isLessThanOrEqualTo(QueryPlanInspector.MAX_IN_MEMORY_SORT);
+    }
+
+    static Stream<Arguments> shapes() {
+        List<Arguments> shapes = new ArrayList<>();
+
+        for (PipelineKind kind : PipelineKind.values()) {
+            for (int mask = 0; mask < (1 << PREDICATES.size()); mask++) {
+                boolean hasTerm = (mask & 1) != 0;
+
+                if (hasTerm) {
+                    if (kind != PipelineKind.CURSOR) {
+                        shapes.add(shapeOf(kind, mask, null, null));
+                    }
+                    continue;
+                }
+
+                for (ProductFilter.SortType sortType : ProductFilter.SortType.values()) {
+                    for (Sort.Direction direction : Sort.Direction.values()) {
+                        shapes.add(shapeOf(kind, mask, sortType, direction));
+                    }
+                }
+            }
+        }
+
+        return shapes.stream();
+    }
+
+    private static Arguments shapeOf(PipelineKind kind, int mask, ProductFilter.SortType sortType,
+                                     Sort.Direction direction) {
+        var filter = new ProductFilter();
+        List<String> names = new ArrayList<>();
+
+        for (int i = 0; i < PREDICATES.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                PREDICATES.get(i).apply().accept(filter);
+                names.add(PREDICATES.get(i).name());
+            }
+        }
+
+        filter.setSortByProperty(sortType);
+        filter.setSortDirection(direction);
+
+        if (kind == PipelineKind.CURSOR) {
+            filter.setCursor(ProductCursor.after(cursorProduct(), filter).encode());
+        }
+
+        String predicates = names.isEmpty() ? "<none>" : String.join("+", names);
+        String sort = sortType == null ? "score" : sortType + " " + direction;
+        return Arguments.of(kind + " " + predicates + " sort=" + sort, kind, filter);
+    }
+
+    private static ProductSummaryOutput cursorProduct() {
+        return ProductSummaryOutput.builder()
+                .id(UUID.fromString("7e57c0de-0000-4000-8000-000000000000"))
+                .addedAt(OffsetDateTime.now().minusDays(180))
+                .salePrice(new BigDecimal("1000"))
+                .build();
+    }
+
+    private AggregationOperationContext context() {
+        return new TypeBasedAggregationOperationContext(Product.class,
+                mongoTemplate.getConverter().getMappingContext(),
+                new QueryMapper(mongoTemplate.getConverter()));
+    }
+
+    private Document syntheticProduct(int i) {
+        UUID categoryId = CATEGORIES.get(i % CATEGORIES.size());
+        BigDecimal regularPrice = BigDecimal.valueOf(50 + (i % 200) * 10L);
+        boolean discounted = i % 3 == 0;
+        BigDecimal salePrice = discounted ? regularPrice.multiply(new BigDecimal("0.8")) : regularPrice;
+        Date addedAt = Date.from(OffsetDateTime.now().minusDays(i % 365).toInstant());
+
+        return new Document("_id", UUID.randomUUID())
+                .append("name", (i % 20 == 0 ? "Notebook " : "Gadget ") + i)
+                .append("brand", SYNTHETIC_BRAND)
+                .append("description", "Synthetic product " + i)
+                .append("enabled", i % 10 != 0)
+                .append("regularPrice", new Decimal128(regularPrice))
+                .append("salePrice", new Decimal128(salePrice))
+                .append("discountPercentageRounded", discounted ? 20 : 0)
+                .append("quantityInStock", i % 5 == 0 ? 0 : 10)
+                .append("addedAt", addedAt)
+                .append("updatedAt", addedAt)
+                .append("version", 0L)
+                .append("categoryId", categoryId)
+                .append("category", new Document("_id", categoryId)
+                        .append("name", "Category " + categoryId)
+                        .append("enabled", true));
+    }
+
+    private record NamedPredicate(String name, Consumer<ProductFilter> apply) {
+    }
+
+    enum PipelineKind {
+
+        OFFSET {
+            @Override
+            Aggregation aggregationOf(ProductFilterAggregations aggregations, ProductFilter filter) {
+                return aggregations.pageWithTotal(filter);
+            }
+        },
+        CURSOR {
+            @Override
+            Aggregation aggregationOf(ProductFilterAggregations aggregations, ProductFilter filter) {
+                return aggregations.page(filter, Optional.empty());
+            }
+        },
+        FACETS {
+            @Override
+            Aggregation aggregationOf(ProductFilterAggregations aggregations, ProductFilter filter) {
+                return aggregations.facets(filter, Optional.empty(), PRICE_FACET_BOUNDARIES, FACET_LIMIT);
+            }
+        },
+        EXPORT {
+            @Override
+            Aggregation aggregationOf(ProductFilterAggregations aggregations, ProductFilter filter) {
+                return aggregations.export(filter, Optional.empty(), AggregationOptions.builder().build());
+            }
+        };
+
+        abstract Aggregation aggregationOf(ProductFilterAggregations aggregations, ProductFilter filter);
+    }
+
+}
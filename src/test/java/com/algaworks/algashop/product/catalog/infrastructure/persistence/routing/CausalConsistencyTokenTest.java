@@ -0,0 +1,44 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.routing;
+
+import com.mongodb.ReadPreference;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CausalConsistencyTokenTest {
+
+    @Test
+    public void shouldRoundTripOperationAndClusterTime() {
+        var clusterTime = new BsonDocument("clusterTime", new BsonTimestamp(1_700_000_000, 7))
+                .append("signature", new BsonDocument("keyId", new BsonInt64(42L)));
+        var token = new CausalConsistencyToken(new BsonTimestamp(1_700_000_000, 5), clusterTime);
+
+        var decoded = CausalConsistencyToken.decode(token.encode());
+
+        assertThat(decoded).isEqualTo(token);
+    }
+
+    @Test
+    public void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> CausalConsistencyToken.decode("not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldBuildSecondaryPreferredWithMaxStaleness() {
+        var route = new MongoReadRoutingProperties.Route(MongoReadRoutingProperties.Mode.SECONDARY_PREFERRED,
+                Duration.ofSeconds(120));
+
+        var readPreference = route.toReadPreference();
+
+        assertThat(readPreference).isEqualTo(ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS));
+    }
+
+}
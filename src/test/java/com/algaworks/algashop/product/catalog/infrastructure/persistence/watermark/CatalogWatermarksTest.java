@@ -0,0 +1,103 @@
+package com.algaworks.algashop.product.catalog.infrastructure.persistence.watermark;
+
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
+import com.algaworks.algashop.product.catalog.infrastructure.persistence.routing.MongoReadRouter;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogWatermarksTest {
+
+    private final MongoReadRouter mongoReadRouter = mock(MongoReadRouter.class);
+    private final MongoOperations primary = mock(MongoOperations.class);
+    private final CatalogWatermarks catalogWatermarks = new CatalogWatermarks(mongoReadRouter,
+            new CatalogWatermarkProperties());
+
+    @Test
+    public void shouldScopeUnfilteredListingToAllProducts() {
+        assertThat(CatalogWatermarks.productListingScopes(null)).containsExactly(CatalogWatermarks.PRODUCTS);
+        assertThat(CatalogWatermarks.productListingScopes(new UUID[0])).containsExactly(CatalogWatermarks.PRODUCTS);
+    }
+
+    @Test
+    public void shouldScopeFilteredListingToEachCategoryOnce() {
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+        assertThat(CatalogWatermarks.productListingScopes(new UUID[]{second, first, second, null}))
+                .containsExactly(CatalogWatermarks.productsOf(first), CatalogWatermarks.productsOf(second));
+    }
+
+    @Test
+    public void shouldCombineVersionsAndLatestUpdateOfEveryScope() {
+        Instant latest = Instant.now().plusSeconds(60);
+        when(mongoReadRouter.primary()).thenReturn(primary);
+        when(primary.find(any(Query.class), eq(Document.class), eq(CatalogWatermarks.COLLECTION)))
+                .thenReturn(List.of(
+                        new Document("_id", "a").append("version", 3L).append("updatedAt", Date.from(latest)),
+                        new Document("_id", "b").append("version", 2)
+                                .append("updatedAt", Date.from(latest.minusSeconds(30)))));
+
+        ResourceVersionOutput current = catalogWatermarks.current(List.of("a", "b", "c"));
+
+        assertThat(current.getVersion()).isEqualTo(5L);
+        assertThat(current.getUpdatedAt().toInstant()).isEqualTo(latest);
+    }
+
+    @Test
+    public void shouldReuseLocalWatermarksUntilTheyAdvance() {
+        when(mongoReadRouter.primary()).thenReturn(primary);
+        when(primary.bulkOps(BulkOperations.BulkMode.UNORDERED, CatalogWatermarks.COLLECTION))
+                .thenReturn(mock(BulkOperations.class));
+        when(primary.find(any(Query.class), eq(Document.class), eq(CatalogWatermarks.COLLECTION)))
+                .thenReturn(List.of(new Document("_id", CatalogWatermarks.PRODUCTS).append("version", 1L)))
+                .thenReturn(List.of(new Document("_id", CatalogWatermarks.PRODUCTS).append("version", 2L)));
+
+        String first = catalogWatermarks.versionOf(CatalogWatermarks.PRODUCTS);
+        String second = catalogWatermarks.versionOf(CatalogWatermarks.PRODUCTS);
+        catalogWatermarks.advance(List.of(CatalogWatermarks.PRODUCTS));
+        String advanced = catalogWatermarks.versionOf(CatalogWatermarks.PRODUCTS);
+
+        assertThat(first).isEqualTo("1");
+        assertThat(second).isEqualTo("1");
+        assertThat(advanced).isEqualTo("2");
+        verify(primary, times(2)).find(any(Query.class), eq(Document.class), eq(CatalogWatermarks.COLLECTION));
+    }
+
+    @Test
+    public void shouldStartAtVersionZeroFromPersistedTrackingStart() {
+        Instant since = Instant.parse("2026-01-01T00:00:00Z");
+        when(mongoReadRouter.primary()).thenReturn(primary);
+        when(primary.find(any(Query.class), eq(Document.class), eq(CatalogWatermarks.COLLECTION)))
+                .thenReturn(List.of());
+        when(primary.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(CatalogWatermarks.COLLECTION)))
+                .thenReturn(new Document("_id", "tracked-since").append("updatedAt", Date.from(since)));
+
+        ResourceVersionOutput current = catalogWatermarks.current(CatalogWatermarks.CATEGORIES);
+        catalogWatermarks.current(CatalogWatermarks.PRODUCTS);
+
+        assertThat(current.getVersion()).isZero();
+        assertThat(current.getUpdatedAt().toInstant()).isEqualTo(since);
+        verify(primary, times(1)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(Document.class), eq(CatalogWatermarks.COLLECTION));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private final UUID notebook = UUID.randomUUID();
+    private final UUID mouse = UUID.randomUUID();
+    private final UUID monitor = UUID.randomUUID();
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    public void beforeEach() {
+        productSearchIndex = new ProductSearchIndex();
+        productSearchIndex.rebuild(Stream.of(
+                new IndexableProduct(notebook, "Notebook Gamer", "Dell", "Notebook com placa de vídeo dedicada", true),
+                new IndexableProduct(mouse, "Mouse sem fio", "Logitech", "Mouse ideal para notebook", true),
+                new IndexableProduct(monitor, "Monitor 27 polegadas", "Dell", "Monitor com resolução 4K", true)
+        ));
+    }
+
+    @Test
+    public void shouldRankNameMatchesAboveDescriptionMatches() {
+        List<SearchHit> hits = productSearchIndex.search("notebook", 10);
+
+        assertThat(hits).extracting(SearchHit::productId).containsExactly(notebook, mouse);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    public void shouldMatchPrefixOfLastToken() {
+        assertThat(productSearchIndex.search("dell moni", 10))
+                .extracting(SearchHit::productId)
+                .startsWith(monitor);
+    }
+
+    @Test
+    public void shouldTolerateTypos() {
+        assertThat(productSearchIndex.search("logitec mause", 10))
+                .extracting(SearchHit::productId)
+                .containsExactly(mouse);
+    }
+
+    @Test
+    public void shouldIgnoreCaseAndAccents() {
+        assertThat(productSearchIndex.search("RESOLUCAO", 10))
+                .extracting(SearchHit::productId)
+                .containsExactly(monitor);
+    }
+
+    @Test
+    public void shouldReplaceAndRemoveDocuments() {
+        productSearchIndex.index(new IndexableProduct(mouse, "Teclado mecânico", "Logitech", "Teclado ABNT2", true));
+        productSearchIndex.remove(monitor);
+
+        assertThat(productSearchIndex.search("mouse", 10)).isEmpty();
+        assertThat(productSearchIndex.search("teclado", 10)).extracting(SearchHit::productId).containsExactly(mouse);
+        assertThat(productSearchIndex.search("monitor", 10)).isEmpty();
+        assertThat(productSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldLimitResults() {
+        assertThat(productSearchIndex.search("dell notebook mouse monitor", 2)).hasSize(2);
+    }
+
+}
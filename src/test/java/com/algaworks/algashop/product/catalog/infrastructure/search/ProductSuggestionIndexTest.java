@@ -0,0 +1,63 @@
+package com.algaworks.algashop.product.catalog.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSuggestionIndexTest {
+
+    private final UUID notebook = UUID.randomUUID();
+    private final UUID gamerMouse = UUID.randomUUID();
+    private final UUID disabled = UUID.randomUUID();
+
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @BeforeEach
+    public void beforeEach() {
+        productSuggestionIndex = new ProductSuggestionIndex();
+        productSuggestionIndex.rebuild(Stream.of(
+                new IndexableProduct(notebook, "Notebook Gamer", "Dell", null, true),
+                new IndexableProduct(gamerMouse, "Gamer Mouse", "Logitech", null, true),
+                new IndexableProduct(disabled, "Notebook Antigo", "Dell", null, false)
+        ));
+    }
+
+    @Test
+    public void shouldRankNameStartsBeforeWordStarts() {
+        assertThat(productSuggestionIndex.suggest("gam", 10))
+                .extracting(ProductSuggestionIndex.Suggestion::productId)
+                .containsExactly(gamerMouse, notebook);
+    }
+
+    @Test
+    public void shouldMatchBrandFollowedByName() {
+        assertThat(productSuggestionIndex.suggest("Dell Note", 10))
+                .extracting(ProductSuggestionIndex.Suggestion::name)
+                .containsExactly("Notebook Gamer");
+    }
+
+    @Test
+    public void shouldIgnoreDisabledProductsAndFollowUpdates() {
+        assertThat(productSuggestionIndex.suggest("notebook", 10))
+                .extracting(ProductSuggestionIndex.Suggestion::productId)
+                .containsExactly(notebook);
+
+        productSuggestionIndex.index(new IndexableProduct(notebook, "Notebook Gamer", "Dell", null, false));
+        productSuggestionIndex.index(new IndexableProduct(disabled, "Notebook Antigo", "Dell", null, true));
+
+        assertThat(productSuggestionIndex.suggest("notebook", 10))
+                .extracting(ProductSuggestionIndex.Suggestion::productId)
+                .containsExactly(disabled);
+    }
+
+    @Test
+    public void shouldLimitSuggestions() {
+        assertThat(productSuggestionIndex.suggest("g", 1)).hasSize(1);
+        assertThat(productSuggestionIndex.suggest("  ", 10)).isEmpty();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.algaworks.algashop.product.catalog.presentation;
+
+import com.algaworks.algashop.product.catalog.application.ResourceVersionOutput;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestsTest {
+
+    private final ResourceVersionOutput version = ResourceVersionOutput.builder()
+            .id(UUID.randomUUID())
+            .version(3L)
+            .updatedAt(OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+            .build();
+
+    @Test
+    public void shouldNotLookUpVersionForUnconditionalRequest() {
+        AtomicInteger lookups = new AtomicInteger();
+
+        Optional<ResponseEntity<Object>> result = ConditionalRequests.notModified(webRequest(null),
+                CacheControl.noCache(), () -> {
+                    lookups.incrementAndGet();
+                    return version;
+                }, this::eTagOf);
+
+        assertThat(result).isEmpty();
+        assertThat(lookups).hasValue(0);
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhenETagMatches() {
+        Optional<ResponseEntity<Object>> result = ConditionalRequests.notModified(
+                webRequest("\"" + eTagOf(version) + "\""), CacheControl.noCache(), () -> version, this::eTagOf);
+
+        assertThat(result).hasValueSatisfying(response -> {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getHeaders().getETag()).isEqualTo("\"" + eTagOf(version) + "\"");
+        });
+    }
+
+    @Test
+    public void shouldContinueWhenETagIsStale() {
+        Optional<ResponseEntity<Object>> result = ConditionalRequests.notModified(
+                webRequest("\"product:id:" + version.getId() + ":v:2\""), CacheControl.noCache(),
+                () -> version, this::eTagOf);
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhenVersionHasNoUpdatedAt() {
+        ResourceVersionOutput legacyVersion = ResourceVersionOutput.builder()
+                .id(version.getId())
+                .version(3L)
+                .build();
+
+        Optional<ResponseEntity<Object>> result = ConditionalRequests.notModified(
+                webRequest("\"" + eTagOf(legacyVersion) + "\""), CacheControl.noCache(),
+                () -> legacyVersion, this::eTagOf);
+
+        assertThat(result).hasValueSatisfying(response -> {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getHeaders().getLastModified()).isEqualTo(-1);
+        });
+    }
+
+    @Test
+    public void shouldOmitLastModifiedWhenUpdatedAtIsMissing() {
+        ResponseEntity<Object> response = ConditionalRequests.ok(CacheControl.noCache(), "product:v:3", null).build();
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"product:v:3\"");
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(-1);
+    }
+
+    private ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/" + version.getId());
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private String eTagOf(ResourceVersionOutput version) {
+        return "product:id:" + version.getId() + ":v:" + version.getVersion();
+    }
+
+}